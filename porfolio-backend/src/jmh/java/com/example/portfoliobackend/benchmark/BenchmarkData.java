@@ -0,0 +1,251 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.dto.UserSkillDetail;
+import com.example.portfoliobackend.model.Education;
+import com.example.portfoliobackend.model.PortfolioSection;
+import com.example.portfoliobackend.model.PortfolioSettings;
+import com.example.portfoliobackend.model.Project;
+import com.example.portfoliobackend.model.SocialLink;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.WorkExperience;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic, realistically sized portfolio content shared by the benchmarks
+final class BenchmarkData {
+
+    // Benchmark-only HS256 key, unrelated to any deployed secret
+    static final String JWT_SECRET =
+            "9xOhnlepqmhqLi/R0SPp+B6kisfOzXhPZ2alnpALev212gqoD9cyH0SJQ2joDhzumfuJbHJ0mSx5yqHbBolMIQ==";
+
+    private static final String[] WORDS = {
+            "service", "latency", "pipeline", "react", "spring", "cache", "deploy", "kubernetes", "design",
+            "migrated", "built", "reduced", "customers", "dashboard", "api", "team", "scalable", "data",
+            "streaming", "search", "mobile", "payments", "observability", "the", "and", "with", "for", "to"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static JwtProperties jwtProperties(long verifiedCacheSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(JWT_SECRET);
+        properties.setExpiration(86_400_000L);
+        properties.setVerifiedCacheSize(verifiedCacheSize);
+        return properties;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setBio("Backend engineer working on distributed systems and developer tooling.");
+        user.setProfileImage("/uploads/ab/cd/abcdef0123456789.jpg");
+        user.setJobTitle("Senior Software Engineer");
+        user.setLocation("Lisbon, Portugal");
+        user.setCvUrl("/uploads/12/34/1234567890abcdef.pdf");
+        user.setCreatedAt(LocalDateTime.of(2023, 3, 14, 9, 30));
+        user.setUpdatedAt(LocalDateTime.of(2024, 11, 2, 18, 5));
+        return user;
+    }
+
+    static PortfolioSettings settings(long userId) {
+        PortfolioSettings settings = new PortfolioSettings();
+        settings.setUserId(userId);
+        settings.setTheme("default");
+        settings.setLayout("standard");
+        settings.setColorPrimary("#007bff");
+        settings.setColorSecondary("#6c757d");
+        settings.setFontFamily("Roboto, sans-serif");
+        settings.setIsPublic(true);
+        return settings;
+    }
+
+    // Same map PublicPortfolioController.buildProfileResponse builds
+    static Map<String, Object> profileResponse(User user, PortfolioSettings settings) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", user.getId());
+        response.put("username", user.getUsername());
+        response.put("first_name", user.getFirstName());
+        response.put("last_name", user.getLastName());
+        response.put("bio", user.getBio());
+        response.put("profile_image", user.getProfileImage());
+        response.put("job_title", user.getJobTitle());
+        response.put("location", user.getLocation());
+        response.put("cv_url", user.getCvUrl());
+
+        Map<String, Object> settingsMap = new HashMap<>();
+        if (settings != null) {
+            settingsMap.put("theme", settings.getTheme());
+            settingsMap.put("layout", settings.getLayout());
+            settingsMap.put("color_primary", settings.getColorPrimary());
+            settingsMap.put("color_secondary", settings.getColorSecondary());
+            settingsMap.put("font_family", settings.getFontFamily());
+        }
+        response.put("settings", settingsMap);
+        return response;
+    }
+
+    // Same shape as GET /api/portfolios/{username}/full; the other sections scale with the project count
+    static Map<String, Object> fullPortfolio(int projectCount) {
+        Random random = new Random(projectCount);
+        User user = user(42);
+        Long userId = user.getId();
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < projectCount; i++) {
+            Project project = new Project();
+            project.setId((long) i + 1);
+            project.setUserId(userId);
+            project.setTitle(sentence(random, 4));
+            project.setDescription(sentence(random, 120));
+            project.setThumbnail("/uploads/0" + (i % 10) + "/ab/" + Long.toHexString(random.nextLong()) + ".png");
+            project.setProjectUrl("https://example.com/projects/" + i);
+            project.setGithubUrl("https://github.com/user42/project-" + i);
+            project.setFeatured(i < 3);
+            project.setDisplayOrder(i);
+            project.setStartDate(LocalDate.of(2018, 1, 1).plusMonths(i));
+            project.setEndDate(LocalDate.of(2018, 6, 1).plusMonths(i));
+            project.setCreatedAt(LocalDateTime.of(2023, 1, 1, 12, 0).plusDays(i));
+            project.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(i));
+            projects.add(project);
+        }
+
+        List<UserSkillDetail> skills = new ArrayList<>();
+        for (int i = 0; i < projectCount * 2; i++) {
+            skills.add(new SkillDetail((long) i + 1, (long) i + 100, "Skill " + i,
+                    i % 3 == 0 ? "Backend" : i % 3 == 1 ? "Frontend" : "Tooling",
+                    1 + random.nextInt(5), random.nextInt(20) / 2f));
+        }
+
+        List<Education> education = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, projectCount / 4); i++) {
+            Education entry = new Education();
+            entry.setId((long) i + 1);
+            entry.setUserId(userId);
+            entry.setInstitution("University of " + sentence(random, 2));
+            entry.setDegree("MSc");
+            entry.setFieldOfStudy("Computer Science");
+            entry.setDescription(sentence(random, 60));
+            entry.setStartDate(LocalDate.of(2010 + i, 9, 1));
+            entry.setEndDate(LocalDate.of(2012 + i, 7, 1));
+            entry.setCurrentlyStudying(false);
+            entry.setLocation("Lisbon, Portugal");
+            entry.setDisplayOrder(i);
+            entry.setCreatedAt(LocalDateTime.of(2023, 1, 1, 12, 0));
+            entry.setUpdatedAt(LocalDateTime.of(2023, 1, 1, 12, 0));
+            education.add(entry);
+        }
+
+        List<WorkExperience> experience = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, projectCount / 2); i++) {
+            WorkExperience entry = new WorkExperience();
+            entry.setId((long) i + 1);
+            entry.setUserId(userId);
+            entry.setCompany(sentence(random, 2) + " Ltd");
+            entry.setPosition("Software Engineer");
+            entry.setDescription(sentence(random, 150));
+            entry.setStartDate(LocalDate.of(2014 + i, 1, 1));
+            entry.setEndDate(LocalDate.of(2015 + i, 12, 31));
+            entry.setCurrentJob(i == 0);
+            entry.setLocation("Remote");
+            entry.setDisplayOrder(i);
+            entry.setCreatedAt(LocalDateTime.of(2023, 1, 1, 12, 0));
+            entry.setUpdatedAt(LocalDateTime.of(2023, 1, 1, 12, 0));
+            experience.add(entry);
+        }
+
+        List<SocialLink> socialLinks = new ArrayList<>();
+        String[] platforms = {"github", "linkedin", "twitter", "website"};
+        for (int i = 0; i < platforms.length; i++) {
+            SocialLink link = new SocialLink();
+            link.setId((long) i + 1);
+            link.setUserId(userId);
+            link.setPlatform(platforms[i]);
+            link.setUrl("https://" + platforms[i] + ".com/user42");
+            link.setDisplayOrder(i);
+            link.setIsVisible(true);
+            link.setIcon(platforms[i]);
+            socialLinks.add(link);
+        }
+
+        List<PortfolioSection> sections = new ArrayList<>();
+        PortfolioSection.SectionType[] types = PortfolioSection.SectionType.values();
+        for (int i = 0; i < types.length; i++) {
+            PortfolioSection section = new PortfolioSection();
+            section.setId((long) i + 1);
+            section.setUserId(userId);
+            section.setSectionType(types[i]);
+            section.setTitle(types[i].name());
+            section.setDescription(sentence(random, 20));
+            section.setIsVisible(true);
+            section.setDisplayOrder(i);
+            sections.add(section);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("profile", profileResponse(user, settings(userId)));
+        response.put("projects", projects);
+        response.put("skills", skills);
+        response.put("education", education);
+        response.put("experience", experience);
+        response.put("social_links", socialLinks);
+        response.put("sections", sections);
+        return response;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private record SkillDetail(Long id, Long skillId, String skillName, String category,
+                               Integer proficiency, Float yearsExperience) implements UserSkillDetail {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getSkillId() {
+            return skillId;
+        }
+
+        @Override
+        public String getSkillName() {
+            return skillName;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public Integer getProficiency() {
+            return proficiency;
+        }
+
+        @Override
+        public Float getYearsExperience() {
+            return yearsExperience;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares two JMH JSON result files, typically from the previous and the current commit:
+ * <pre>
+ * git stash; mvn -Pjmh test-compile exec:exec -Djmh.resultFile=target/jmh-baseline.json; git stash pop
+ * mvn -Pjmh test-compile exec:exec
+ * mvn -Pjmh test-compile exec:exec@compare -Djmh.baseline=target/jmh-baseline.json
+ * </pre>
+ * A change is flagged only when the difference is larger than the two error margins combined.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(Path.of(args[0]));
+        Map<String, JsonNode> candidate = load(Path.of(args[1]));
+
+        System.out.printf(Locale.ROOT, "%-70s %16s %16s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode current = entry.getValue().path("primaryMetric");
+            JsonNode previous = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).path("primaryMetric")
+                    : null;
+            String unit = current.path("scoreUnit").asText();
+            double score = current.path("score").asDouble();
+            if (previous == null) {
+                System.out.printf(Locale.ROOT, "%-70s %16s %16s %9s%n", entry.getKey(), "-", format(score, unit), "new");
+                continue;
+            }
+            double previousScore = previous.path("score").asDouble();
+            double change = (score - previousScore) / previousScore * 100;
+            double noise = current.path("scoreError").asDouble(0) + previous.path("scoreError").asDouble(0);
+            boolean significant = Math.abs(score - previousScore) > noise;
+            // Throughput is better when higher, every time-per-operation mode when lower
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            String verdict = !significant ? "" : (change > 0) == higherIsBetter ? " better" : " WORSE";
+            System.out.printf(Locale.ROOT, "%-70s %16s %16s %+8.1f%%%s%n", entry.getKey(),
+                    format(previousScore, unit), format(score, unit), change, verdict);
+        }
+    }
+
+    // Results keyed by benchmark name plus parameters, in the order JMH wrote them
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String name = result.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            StringJoiner params = new StringJoiner(",", "(", ")").setEmptyValue("");
+            result.path("params").fields().forEachRemaining(param ->
+                    params.add(param.getKey() + "=" + param.getValue().asText()));
+            results.put(name + params, result);
+        }
+        return results;
+    }
+
+    private static String format(double score, String unit) {
+        return String.format(Locale.ROOT, "%.3f %s", score, unit);
+    }
+}
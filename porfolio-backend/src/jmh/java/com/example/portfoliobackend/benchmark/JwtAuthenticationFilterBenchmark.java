@@ -0,0 +1,177 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.example.portfoliobackend.config.JwtAuthenticationFilter;
+import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSession;
+import com.example.portfoliobackend.repository.UserRepository;
+import com.example.portfoliobackend.repository.UserSessionRepository;
+import com.example.portfoliobackend.service.CustomUserDetailsService;
+import com.example.portfoliobackend.service.SessionRegistry;
+import com.example.portfoliobackend.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter: a request with a valid token (cached verification plus the
+ * in-memory session check), a protected request without a token, and a public path the filter skips.
+ * The session repository is a mock; after registration the session index answers from memory anyway.
+ * Building the mock request and response is part of every variant.
+ * <p>
+ * authenticatedRequestBaseline runs the same request through {@link BaselineFilter}, the filter as it was before
+ * principals came from the token claims: two full parses per request plus loadUserByUsername. Its UserRepository is
+ * a mock, so the baseline leaves out the database round trip the real lookup costs; the real gap is wider.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String PROTECTED_PATH = "/api/profile/projects";
+    private static final String PUBLIC_PATH = "/api/skills";
+
+    private JwtAuthenticationFilter filter;
+    private BaselineFilter baselineFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = BenchmarkData.jwtProperties(10_000);
+        UserSessionRepository sessions = Mockito.mock(UserSessionRepository.class);
+        Mockito.when(sessions.save(Mockito.any(UserSession.class))).thenAnswer(invocation -> {
+            UserSession session = invocation.getArgument(0);
+            session.setId(1L);
+            return session;
+        });
+        SessionRegistry sessionRegistry = new SessionRegistry(sessions, jwtProperties);
+        JwtUtil jwtUtil = new JwtUtil(jwtProperties);
+
+        User user = BenchmarkData.user(42);
+        UserSession session = sessionRegistry.register(user, "127.0.0.1", "jmh");
+        authorization = "Bearer " + jwtUtil.generateToken(user, session.getToken());
+        filter = new JwtAuthenticationFilter(jwtUtil, Mockito.mock(UserRepository.class), sessionRegistry);
+
+        UserRepository users = Mockito.mock(UserRepository.class);
+        Mockito.when(users.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+        baselineFilter = new BaselineFilter(jwtProperties.getSecret(), new CustomUserDetailsService(users));
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws ServletException, IOException {
+        return run(PROTECTED_PATH, authorization);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequestBaseline() throws ServletException, IOException {
+        return run(baselineFilter, PROTECTED_PATH, authorization);
+    }
+
+    @Benchmark
+    public Authentication anonymousRequest() throws ServletException, IOException {
+        return run(PROTECTED_PATH, null);
+    }
+
+    @Benchmark
+    public Authentication skippedPublicRequest() throws ServletException, IOException {
+        return run(PUBLIC_PATH, null);
+    }
+
+    private Authentication run(String path, String authorizationHeader) throws ServletException, IOException {
+        return run(filter, path, authorizationHeader);
+    }
+
+    private Authentication run(OncePerRequestFilter filter, String path, String authorizationHeader)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (authorizationHeader != null) {
+            request.addHeader("Authorization", authorizationHeader);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Copy of the authenticated path of JwtAuthenticationFilter before user ids were read from the token
+    static final class BaselineFilter extends OncePerRequestFilter {
+
+        private final String secret;
+        private final UserDetailsService userDetailsService;
+
+        BaselineFilter(String secret, UserDetailsService userDetailsService) {
+            this.secret = secret;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String authHeader = request.getHeader("Authorization");
+            String token = null;
+            String username = null;
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                token = authHeader.substring(7);
+                try {
+                    username = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().getSubject();
+                } catch (Exception e) {
+                    logger.error("JWT token validation failed: " + e.getMessage());
+                }
+            }
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (validateToken(token)) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        @SuppressWarnings("deprecation")
+        private boolean validateToken(String token) {
+            try {
+                Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification in JwtUtil. A cached parse is a repeat presentation of the same token;
+ * an uncached parse cycles through more distinct tokens than the verified-token cache can hold, so
+ * every call pays for the HMAC check and claims decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String tokenId;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(BenchmarkData.jwtProperties(10_000));
+        uncachedJwtUtil = new JwtUtil(BenchmarkData.jwtProperties(1));
+        user = BenchmarkData.user(42);
+        tokenId = UUID.randomUUID().toString();
+        token = jwtUtil.generateToken(user, tokenId);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken(BenchmarkData.user(i), UUID.randomUUID().toString());
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user, tokenId);
+    }
+
+    @Benchmark
+    public Claims parseCachedToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseUncachedToken() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return uncachedJwtUtil.parseToken(tokens[next]);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.portfoliobackend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.portfoliobackend.model.PortfolioSettings;
+import com.example.portfoliobackend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one public profile load under concurrency: the former System.out tracing against the
+ * SLF4J fluent calls behind the async appender, with the category at INFO (production) and at DEBUG.
+ * Output is discarded in all cases, so the System.out numbers leave out the console I/O itself and are
+ * a best case for the old code.
+ * <p>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PublicProfileLoggingBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PublicProfileLoggingBenchmark {
+
+    private LoggerContext loggerContext;
+    private Logger debugDisabled;
+    private Logger debugEnabled;
+    // Same synchronized PrintStream as System.out, writing nowhere
+    private PrintStream stdout;
+    private User user;
+    private PortfolioSettings settings;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m %kvp%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        // Mirrors the ASYNC appender in logback-spring.xml
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(async);
+        debugDisabled = loggerContext.getLogger("benchmark.info");
+        ch.qos.logback.classic.Logger enabled = loggerContext.getLogger("benchmark.debug");
+        enabled.setLevel(Level.DEBUG);
+        debugEnabled = enabled;
+
+        stdout = new PrintStream(OutputStream.nullOutputStream(), true);
+
+        user = BenchmarkData.user(4217);
+        settings = BenchmarkData.settings(user.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public Map<String, Object> systemOut() {
+        String username = user.getUsername();
+        stdout.println("DEBUG - getPublicProfile called for username: " + username);
+        stdout.println("DEBUG - User found with ID: " + user.getId());
+        stdout.println("DEBUG - isPortfolioPublic check for userId: " + user.getId());
+        stdout.println("DEBUG - PortfolioSettings found: " + (settings != null));
+        stdout.println("DEBUG - settings.getIsPublic() value: " + settings.getIsPublic());
+        stdout.println("DEBUG - Portfolio is public: " + settings.getIsPublic());
+        Map<String, Object> response = buildProfileResponse();
+        stdout.println("DEBUG - Successfully prepared response for username: " + username);
+        return response;
+    }
+
+    @Benchmark
+    public Map<String, Object> asyncLoggingDebugDisabled() {
+        return fluentLogging(debugDisabled);
+    }
+
+    // The producer side only; once the queue passes 80% the appender discards DEBUG events, as it would in production
+    @Benchmark
+    public Map<String, Object> asyncLoggingDebugEnabled() {
+        return fluentLogging(debugEnabled);
+    }
+
+    // The calls PublicPortfolioController.loadPublicProfile makes on the success path
+    private Map<String, Object> fluentLogging(Logger logger) {
+        long start = System.nanoTime();
+        logger.atTrace()
+                .setMessage("Portfolio visibility checked")
+                .addKeyValue("userId", user.getId())
+                .addKeyValue("hasSettings", settings != null)
+                .addKeyValue("isPublic", () -> settings.getIsPublic())
+                .log();
+        Map<String, Object> response = buildProfileResponse();
+        logger.atDebug()
+                .setMessage("Public profile loaded")
+                .addKeyValue("username", user.getUsername())
+                .addKeyValue("userId", user.getId())
+                .addKeyValue("latencyMs", () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log();
+        return response;
+    }
+
+    private Map<String, Object> buildProfileResponse() {
+        return BenchmarkData.profileResponse(user, settings);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.example.portfoliobackend.service.PortfolioSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building for public portfolios: the profile map from getPublicProfile, the JSON encoding of a
+ * full portfolio, and a complete PortfolioSnapshot (JSON plus the gzip variant) as built on a cache miss.
+ * projects scales the portfolio: 8 is typical, 100 a power user.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"8", "100"})
+    private int projects;
+
+    // Configured like Boot's auto-configured mapper
+    private ObjectMapper objectMapper;
+    private Map<String, Object> fullPortfolio;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        fullPortfolio = BenchmarkData.fullPortfolio(projects);
+    }
+
+    @Benchmark
+    public byte[] publicProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                BenchmarkData.profileResponse(BenchmarkData.user(42), BenchmarkData.settings(42)));
+    }
+
+    @Benchmark
+    public byte[] fullPortfolioJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullPortfolio);
+    }
+
+    @Benchmark
+    public PortfolioSnapshot fullPortfolioSnapshot() {
+        return PortfolioSnapshot.of(ResponseEntity.ok(fullPortfolio), objectMapper);
+    }
+}
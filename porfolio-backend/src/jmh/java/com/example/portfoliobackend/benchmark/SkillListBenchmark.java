@@ -0,0 +1,120 @@
+package com.example.portfoliobackend.benchmark;
+
+import com.example.portfoliobackend.PorfolioBackendApplication;
+import com.example.portfoliobackend.dto.UserSkillDetail;
+import com.example.portfoliobackend.model.Skill;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSkill;
+import com.example.portfoliobackend.repository.SkillRepository;
+import com.example.portfoliobackend.repository.UserRepository;
+import com.example.portfoliobackend.repository.UserSkillRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill-list assembly against the real repositories on an in-memory H2 database: the single join
+ * projection used today versus the former loop of one skill lookup per user skill.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillListBenchmark {
+
+    @Param({"10", "50"})
+    private int skills;
+
+    private ConfigurableApplicationContext context;
+    private UserSkillRepository userSkillRepository;
+    private SkillRepository skillRepository;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PorfolioBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:skill-bench;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        // Keep the background pollers quiet while measuring
+                        "app.media.jobs.poll-interval-ms=3600000",
+                        "app.security.sessions.flush-interval-ms=3600000",
+                        "app.security.sessions.reconcile-interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        userSkillRepository = context.getBean(UserSkillRepository.class);
+        skillRepository = context.getBean(SkillRepository.class);
+
+        User user = BenchmarkData.user(1);
+        user.setId(null);
+        user.setPassword("not-used");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        for (int i = 0; i < skills; i++) {
+            Skill skill = new Skill();
+            skill.setName("Skill " + i);
+            skill.setCategory(i % 2 == 0 ? "Backend" : "Frontend");
+            skill = skillRepository.save(skill);
+
+            UserSkill userSkill = new UserSkill();
+            userSkill.setUserId(userId);
+            userSkill.setSkillId(skill.getId());
+            userSkill.setProficiency(1 + i % 5);
+            userSkill.setYearsExperience(i % 10 / 2f);
+            userSkillRepository.save(userSkill);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserSkillDetail> joinedProjection() {
+        return userSkillRepository.findDetailsByUserId(userId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> lookupPerSkill() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (UserSkill userSkill : userSkillRepository.findByUserId(userId)) {
+            Skill skill = skillRepository.findById(userSkill.getSkillId()).orElse(null);
+            Map<String, Object> detail = new HashMap<>();
+            detail.put("id", userSkill.getId());
+            detail.put("skillId", userSkill.getSkillId());
+            detail.put("skillName", skill != null ? skill.getName() : null);
+            detail.put("category", skill != null ? skill.getCategory() : null);
+            detail.put("proficiency", userSkill.getProficiency());
+            detail.put("yearsExperience", userSkill.getYearsExperience());
+            result.add(detail);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.portfoliobackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares throughput and p99 latency per endpoint between two {@link LoadDriver} result files, for example the same
+ * load against platform threads and against virtual threads:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec@compare -Dloadtest.baseline=target/loadtest-platform.json \
+ *     -Dloadtest.resultFile=target/loadtest-virtual.json
+ * </pre>
+ */
+public final class CompareRuns {
+
+    private CompareRuns() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareRuns <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baseline = mapper.readTree(Path.of(args[0]).toFile());
+        JsonNode candidate = mapper.readTree(Path.of(args[1]).toFile());
+
+        System.out.printf(Locale.ROOT, "Baseline '%s' against candidate '%s'%n",
+                baseline.path("label").asText(), candidate.path("label").asText());
+        System.out.printf(Locale.ROOT, "%-44s %10s %10s %8s %10s %10s %8s%n", "Endpoint",
+                "Req/s", "Req/s", "Change", "p99 ms", "p99 ms", "Change");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = candidate.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> endpoint = endpoints.next();
+            JsonNode current = endpoint.getValue();
+            JsonNode previous = baseline.path("endpoints").path(endpoint.getKey());
+            if (previous.isMissingNode()) {
+                System.out.printf(Locale.ROOT, "%-44s %10s %10.1f %8s %10s %10.1f %8s%n", endpoint.getKey(), "-",
+                        current.path("throughput").asDouble(), "new", "-", current.path("p99Ms").asDouble(), "new");
+                continue;
+            }
+            double throughput = current.path("throughput").asDouble();
+            double previousThroughput = previous.path("throughput").asDouble();
+            double p99 = current.path("p99Ms").asDouble();
+            double previousP99 = previous.path("p99Ms").asDouble();
+            System.out.printf(Locale.ROOT, "%-44s %10.1f %10.1f %+7.1f%% %10.1f %10.1f %+7.1f%%%n", endpoint.getKey(),
+                    previousThroughput, throughput, change(previousThroughput, throughput),
+                    previousP99, p99, change(previousP99, p99));
+        }
+    }
+
+    private static double change(double previous, double current) {
+        return previous == 0 ? 0 : (current - previous) / previous * 100;
+    }
+}
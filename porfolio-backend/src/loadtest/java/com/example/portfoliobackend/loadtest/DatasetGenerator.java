@@ -0,0 +1,426 @@
+package com.example.portfoliobackend.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a SQL script that fills the complete_db.sql schema (with the db/migration changes applied) with synthetic users:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec@generate -Dloadtest.users=5000
+ * mysql -u root portfolio_db &lt; target/loadtest-dataset.sql
+ * </pre>
+ * Users are named {@code <prefix><n>} for n from 1 to users and share one password, which is what {@link LoadDriver}
+ * logs in with. Rows get explicit ids above {@code --id-base} and the script first deletes an earlier run, so it can be
+ * loaded next to real data and re-loaded at will. The same seed always produces the same dataset.
+ */
+public final class DatasetGenerator {
+
+    static final String DEFAULT_PREFIX = "lt_user_";
+    static final String DEFAULT_PASSWORD = "loadtest-password";
+
+    private static final int BATCH_ROWS = 500;
+    // Fixed so that a seed gives the same dates whenever the script is generated
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Ordered from most to least common, users pick from it with a Zipf distribution
+    private static final String[][] SKILLS = {
+            {"JavaScript", "Frontend"}, {"React", "Frontend"}, {"Java", "Backend"}, {"Python", "Backend"},
+            {"SQL", "Database"}, {"Git", "Tools"}, {"TypeScript", "Frontend"}, {"HTML", "Frontend"},
+            {"CSS", "Frontend"}, {"Node.js", "Backend"}, {"Spring Boot", "Backend"}, {"Docker", "DevOps"},
+            {"MySQL", "Database"}, {"AWS", "Cloud"}, {"PostgreSQL", "Database"}, {"Linux", "Tools"},
+            {"REST APIs", "Backend"}, {"C#", "Backend"}, {"Kubernetes", "DevOps"}, {"Angular", "Frontend"},
+            {"Vue.js", "Frontend"}, {"MongoDB", "Database"}, {"Go", "Backend"}, {"PHP", "Backend"},
+            {"C++", "Backend"}, {"Redis", "Database"}, {"GraphQL", "Backend"}, {"Azure", "Cloud"},
+            {"Terraform", "DevOps"}, {"Kotlin", "Mobile"}, {"Swift", "Mobile"}, {"Flutter", "Mobile"},
+            {"Figma", "Design"}, {"Jenkins", "DevOps"}, {"Rust", "Backend"}, {"Django", "Backend"},
+            {"Tailwind CSS", "Frontend"}, {"Next.js", "Frontend"}, {"Elasticsearch", "Database"}, {"Kafka", "Backend"},
+            {"GCP", "Cloud"}, {"Scala", "Backend"}, {"Ruby on Rails", "Backend"}, {"Svelte", "Frontend"},
+            {"Pandas", "Data"}, {"TensorFlow", "Data"}, {"PyTorch", "Data"}, {"Spark", "Data"},
+            {"Ansible", "DevOps"}, {"RabbitMQ", "Backend"}, {"Cassandra", "Database"}, {"Elixir", "Backend"},
+            {"Unity", "Games"}, {"Haskell", "Backend"}, {"Solidity", "Backend"}, {"WebAssembly", "Frontend"}
+    };
+    private static final String[] FIRST_NAMES = {
+            "Amina", "Youssef", "Sara", "Omar", "Lina", "Karim", "Emma", "Lucas", "Mia", "Noah", "Ines", "Adam",
+            "Chloe", "Hugo", "Lea", "Ali", "Nora", "Elias", "Zoe", "Samir", "Julia", "Mehdi", "Alice", "Rayan"
+    };
+    private static final String[] LAST_NAMES = {
+            "Benali", "Martin", "El Idrissi", "Bernard", "Haddad", "Dubois", "Alaoui", "Moreau", "Garcia", "Laurent",
+            "Chraibi", "Lefebvre", "Nguyen", "Rossi", "Tazi", "Schmidt", "Kowalski", "Silva", "Fassi", "Dupont"
+    };
+    private static final String[] POSITIONS = {
+            "Software Engineer", "Full Stack Developer", "Frontend Developer", "Backend Developer", "DevOps Engineer",
+            "Data Engineer", "Mobile Developer", "Senior Software Engineer", "Tech Lead", "QA Engineer",
+            "Machine Learning Engineer", "Web Developer", "Site Reliability Engineer", "Intern"
+    };
+    private static final String[] COMPANIES = {
+            "Acme Corp", "Globex", "Initech", "Umbrella Labs", "Stark Industries", "Wayne Tech", "Hooli", "Vandelay",
+            "Soylent Systems", "Cyberdyne", "Tyrell Digital", "Massive Dynamic", "Aperture Software", "Wonka Apps"
+    };
+    private static final String[] INSTITUTIONS = {
+            "Mohammed V University", "ENSIAS", "EMSI", "University of Lyon", "Sorbonne University", "TU Munich",
+            "Polytechnique Montreal", "University of Barcelona", "INPT", "Al Akhawayn University", "OpenClassrooms"
+    };
+    private static final String[] DEGREES = {
+            "Bachelor's Degree", "Master's Degree", "Engineering Degree", "PhD", "Associate Degree", "Certificate"
+    };
+    private static final String[] FIELDS = {
+            "Computer Science", "Software Engineering", "Information Systems", "Data Science", "Mathematics",
+            "Electrical Engineering", "Cybersecurity", "Web Development"
+    };
+    private static final String[] LOCATIONS = {
+            "Rabat, Morocco", "Casablanca, Morocco", "Paris, France", "Lyon, France", "Berlin, Germany",
+            "Montreal, Canada", "Madrid, Spain", "London, UK", "Remote", "Amsterdam, Netherlands"
+    };
+    private static final String[][] PLATFORMS = {
+            {"GitHub", "github", "https://github.com/"}, {"LinkedIn", "linkedin", "https://www.linkedin.com/in/"},
+            {"Twitter", "twitter", "https://twitter.com/"}, {"Website", "globe", "https://www.example.com/"},
+            {"Dev.to", "dev", "https://dev.to/"}, {"Medium", "medium", "https://medium.com/@"},
+            {"Stack Overflow", "stack-overflow", "https://stackoverflow.com/users/"}
+    };
+    private static final String[] SECTION_TYPES = {"about", "projects", "skills", "experience", "education", "contact"};
+    private static final String[] THEMES = {"default", "default", "default", "dark", "light", "minimal"};
+    private static final String[] LAYOUTS = {"standard", "standard", "grid", "timeline"};
+    private static final String[] COLORS = {"#007bff", "#6c757d", "#28a745", "#dc3545", "#6f42c1", "#fd7e14", "#20c997"};
+    private static final String[] FONTS = {"Roboto, sans-serif", "Inter, sans-serif", "Georgia, serif", "Fira Code, monospace"};
+    private static final String[] WORDS = {
+            "built", "designed", "scalable", "platform", "users", "performance", "api", "service", "dashboard",
+            "real-time", "data", "pipeline", "improved", "reduced", "latency", "team", "migrated", "cloud",
+            "application", "mobile", "web", "features", "integration", "testing", "automated", "deployment",
+            "open-source", "library", "analytics", "search", "secure", "authentication", "payments", "modern",
+            "responsive", "interface", "microservices", "monitoring", "customers", "workflow", "optimized", "queries",
+            "caching", "reliable", "delivered", "project", "engineering", "product", "experience", "clean"
+    };
+
+    private final Random random;
+    private final int users;
+    private final long idBase;
+    private final String prefix;
+    private final String passwordHash;
+    private final String mediaUrl;
+    private final Zipf skillPopularity = new Zipf(SKILLS.length, 1.1);
+
+    private long projectIds;
+    private long mediaIds;
+    private long userSkillIds;
+    private long projectSkillIds;
+    private long educationIds;
+    private long experienceIds;
+    private long detailIds;
+    private long linkIds;
+    private long sectionIds;
+
+    private DatasetGenerator(long seed, int users, long idBase, String prefix, String passwordHash, String mediaUrl) {
+        this.random = new Random(seed);
+        this.users = users;
+        this.idBase = idBase;
+        this.prefix = prefix;
+        this.passwordHash = passwordHash;
+        this.mediaUrl = mediaUrl;
+        projectIds = mediaIds = userSkillIds = projectSkillIds = educationIds = experienceIds = detailIds =
+                linkIds = sectionIds = idBase;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Args options = new Args(args);
+        int users = options.getInt("users", 1000);
+        long seed = options.getLong("seed", 42);
+        Path out = Path.of(options.get("out", "target/loadtest-dataset.sql"));
+        // Hashed once with the strength the app is configured with, so logins never trigger a re-hash
+        String passwordHash = new BCryptPasswordEncoder(options.getInt("bcrypt-strength", 10))
+                .encode(options.get("password", DEFAULT_PASSWORD));
+
+        DatasetGenerator generator = new DatasetGenerator(seed, users, options.getLong("id-base", 1_000_000),
+                options.get("prefix", DEFAULT_PREFIX), passwordHash,
+                options.get("media-url", "http://localhost:8081/uploads/"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(out)) {
+            generator.write(writer);
+        }
+        System.out.printf("Wrote %d users, %d projects, %d media, %d user skills, %d education, %d experience rows to %s%n",
+                users, generator.projectIds - generator.idBase, generator.mediaIds - generator.idBase,
+                generator.userSkillIds - generator.idBase, generator.educationIds - generator.idBase,
+                generator.experienceIds - generator.idBase, out);
+    }
+
+    private void write(Writer out) throws IOException {
+        out.write("-- Synthetic load-test dataset: " + users + " users\n");
+        // Removes an earlier run; the foreign keys cascade to every per-user table
+        out.write("DELETE FROM users WHERE user_id > " + idBase + " AND username LIKE "
+                + literal(prefix.replace("_", "\\_") + "%") + ";\n");
+        out.write("DELETE FROM skills WHERE skill_id > " + idBase + ";\n");
+        // Batches of different tables are interleaved, so parents are not always written before their children
+        out.write("SET FOREIGN_KEY_CHECKS = 0;\nSET UNIQUE_CHECKS = 0;\nSET autocommit = 0;\n");
+
+        TableWriter skills = new TableWriter(out, "skills", "skill_id, name, category");
+        TableWriter userRows = new TableWriter(out, "users",
+                "user_id, username, email, password_hash, first_name, last_name, bio, profile_image, job_title, "
+                        + "location, created_at, updated_at");
+        TableWriter settings = new TableWriter(out, "portfolio_settings",
+                "settings_id, user_id, theme, layout, color_primary, color_secondary, font_family, is_public, updated_at");
+        TableWriter userSkills = new TableWriter(out, "user_skills",
+                "user_skill_id, user_id, skill_id, proficiency, years_experience, display_order");
+        TableWriter projects = new TableWriter(out, "projects",
+                "project_id, user_id, title, description, thumbnail, project_url, github_url, featured, display_order, "
+                        + "start_date, end_date, created_at, updated_at");
+        TableWriter media = new TableWriter(out, "project_media",
+                "media_id, project_id, media_type, media_url, caption, display_order, created_at");
+        TableWriter projectSkills = new TableWriter(out, "project_skills", "project_skill_id, project_id, skill_id");
+        TableWriter education = new TableWriter(out, "education",
+                "education_id, user_id, institution, degree, field_of_study, description, start_date, end_date, "
+                        + "currently_studying, location, display_order, created_at, updated_at");
+        TableWriter experience = new TableWriter(out, "work_experience",
+                "experience_id, user_id, company, position, description, start_date, end_date, current_job, location, "
+                        + "display_order, created_at, updated_at");
+        TableWriter details = new TableWriter(out, "experience_details",
+                "detail_id, experience_id, description, display_order");
+        TableWriter links = new TableWriter(out, "social_links",
+                "link_id, user_id, platform, url, display_order, is_visible, icon");
+        TableWriter sections = new TableWriter(out, "portfolio_sections",
+                "section_id, user_id, section_type, title, description, is_visible, display_order, custom_content");
+
+        for (int i = 0; i < SKILLS.length; i++) {
+            skills.row(idBase + i + 1, SKILLS[i][0], SKILLS[i][1]);
+        }
+
+        for (int n = 1; n <= users; n++) {
+            long userId = idBase + n;
+            String username = prefix + n;
+            LocalDateTime created = REFERENCE_TIME.minusMinutes(random.nextInt(3 * 365 * 24 * 60));
+            LocalDateTime updated = later(created);
+            userRows.row(userId, username, username + "@loadtest.example", passwordHash, pick(FIRST_NAMES),
+                    pick(LAST_NAMES), paragraph(1, 6), chance(0.8) ? image() : null, pick(POSITIONS),
+                    pick(LOCATIONS), created, updated);
+            settings.row(userId, userId, pick(THEMES), pick(LAYOUTS), pick(COLORS), pick(COLORS), pick(FONTS),
+                    chance(0.95), updated);
+
+            // Skills: most people list around ten, drawn mostly from the popular ones
+            List<Long> skillIds = new ArrayList<>();
+            Set<Integer> ranks = new LinkedHashSet<>();
+            int skillCount = clamp((int) Math.round(10 + random.nextGaussian() * 5), 3, 25);
+            while (ranks.size() < skillCount) {
+                ranks.add(skillPopularity.sample(random));
+            }
+            int order = 0;
+            for (int rank : ranks) {
+                long skillId = idBase + rank + 1;
+                skillIds.add(skillId);
+                userSkills.row(++userSkillIds, userId, skillId, 1 + random.nextInt(5),
+                        Math.round((0.5 + random.nextDouble() * 10) * 10) / 10.0, order++);
+            }
+
+            // Projects: log-normal, a median of about five with a few heavy portfolios
+            int projectCount = clamp((int) Math.round(Math.exp(1.6 + random.nextGaussian() * 0.6)), 0, 30);
+            for (int p = 0; p < projectCount; p++) {
+                long projectId = ++projectIds;
+                LocalDate start = created.toLocalDate().minusDays(random.nextInt(2000));
+                projects.row(projectId, userId, title(), paragraph(1, 4), chance(0.7) ? image() : null,
+                        chance(0.5) ? "https://" + username.replace('_', '-') + ".example.com/p" + p : null,
+                        chance(0.8) ? "https://github.com/" + username + "/project-" + p : null,
+                        p < 2 && chance(0.5), p, start, chance(0.8) ? start.plusDays(random.nextInt(400)) : null,
+                        created, later(created));
+
+                int mediaCount = 0;
+                while (mediaCount < 8 && chance(0.55)) {
+                    mediaCount++;
+                }
+                for (int m = 0; m < mediaCount; m++) {
+                    double type = random.nextDouble();
+                    String mediaType = type < 0.8 ? "image" : type < 0.92 ? "video" : "document";
+                    String extension = type < 0.8 ? ".jpg" : type < 0.92 ? ".mp4" : ".pdf";
+                    media.row(++mediaIds, projectId, mediaType, mediaUrl + "lt-" + mediaIds + extension,
+                            chance(0.6) ? sentence(3, 10) : null, m, created);
+                }
+
+                Set<Long> technologies = new LinkedHashSet<>();
+                int technologyCount = Math.min(skillIds.size(), 1 + random.nextInt(5));
+                while (technologies.size() < technologyCount) {
+                    technologies.add(skillIds.get(random.nextInt(skillIds.size())));
+                }
+                for (long skillId : technologies) {
+                    projectSkills.row(++projectSkillIds, projectId, skillId);
+                }
+            }
+
+            int educationCount = 1 + (chance(0.4) ? 1 : 0) + (chance(0.1) ? 1 : 0);
+            for (int e = 0; e < educationCount; e++) {
+                LocalDate start = created.toLocalDate().minusYears(4L * (educationCount - e) + random.nextInt(3));
+                boolean current = e == educationCount - 1 && chance(0.1);
+                education.row(++educationIds, userId, pick(INSTITUTIONS), pick(DEGREES), pick(FIELDS),
+                        chance(0.5) ? paragraph(1, 3) : null, start, current ? null : start.plusYears(2 + random.nextInt(3)),
+                        current, pick(LOCATIONS), e, created, updated);
+            }
+
+            int experienceCount = clamp(poisson(2.5), 0, 8);
+            for (int x = 0; x < experienceCount; x++) {
+                long experienceId = ++experienceIds;
+                LocalDate start = created.toLocalDate().minusMonths(18L * (x + 1) + random.nextInt(12));
+                boolean current = x == 0 && chance(0.6);
+                experience.row(experienceId, userId, pick(COMPANIES), pick(POSITIONS), paragraph(1, 3), start,
+                        current ? null : start.plusMonths(6 + random.nextInt(30)), current, pick(LOCATIONS), x,
+                        created, updated);
+                int detailCount = 2 + random.nextInt(4);
+                for (int d = 0; d < detailCount; d++) {
+                    details.row(++detailIds, experienceId, sentence(6, 18), d);
+                }
+            }
+
+            Set<Integer> platforms = new LinkedHashSet<>();
+            int linkCount = 1 + random.nextInt(5);
+            while (platforms.size() < linkCount) {
+                platforms.add(random.nextInt(PLATFORMS.length));
+            }
+            order = 0;
+            for (int platform : platforms) {
+                String[] link = PLATFORMS[platform];
+                links.row(++linkIds, userId, link[0], link[2] + username, order++, chance(0.95), link[1]);
+            }
+
+            for (int s = 0; s < SECTION_TYPES.length; s++) {
+                String type = SECTION_TYPES[s];
+                sections.row(++sectionIds, userId, type, Character.toUpperCase(type.charAt(0)) + type.substring(1),
+                        chance(0.3) ? sentence(4, 12) : null, chance(0.9), s, null);
+            }
+            if (chance(0.2)) {
+                sections.row(++sectionIds, userId, "custom", title(), sentence(4, 12), true, SECTION_TYPES.length,
+                        "<p>" + paragraph(2, 5) + "</p>");
+            }
+        }
+
+        for (TableWriter table : List.of(skills, userRows, settings, userSkills, projects, media, projectSkills,
+                education, experience, details, links, sections)) {
+            table.flush();
+        }
+        out.write("COMMIT;\nSET UNIQUE_CHECKS = 1;\nSET FOREIGN_KEY_CHECKS = 1;\nSET autocommit = 1;\n");
+    }
+
+    private boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private LocalDateTime later(LocalDateTime time) {
+        long minutes = Duration.between(time, REFERENCE_TIME).toMinutes();
+        return minutes <= 0 ? time : time.plusMinutes((long) (random.nextDouble() * minutes));
+    }
+
+    private String image() {
+        return mediaUrl + "lt-" + Long.toHexString(random.nextLong()) + ".jpg";
+    }
+
+    private String title() {
+        String first = pick(WORDS);
+        return Character.toUpperCase(first.charAt(0)) + first.substring(1) + " " + pick(WORDS) + " " + pick(WORDS);
+    }
+
+    private String sentence(int minWords, int maxWords) {
+        StringBuilder sentence = new StringBuilder(title());
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        for (int i = 3; i < words; i++) {
+            sentence.append(' ').append(pick(WORDS));
+        }
+        return sentence.append('.').toString();
+    }
+
+    private String paragraph(int minSentences, int maxSentences) {
+        StringBuilder paragraph = new StringBuilder();
+        int sentences = minSentences + random.nextInt(maxSentences - minSentences + 1);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                paragraph.append(' ');
+            }
+            paragraph.append(sentence(6, 20));
+        }
+        return paragraph.toString();
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "TRUE" : "FALSE";
+        }
+        if (value instanceof LocalDateTime time) {
+            return "'" + TIMESTAMP.format(time) + "'";
+        }
+        if (value instanceof LocalDate date) {
+            return "'" + date + "'";
+        }
+        return "'" + value.toString().replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    // Buffers rows for one table and writes them as multi-row INSERT statements
+    private static final class TableWriter {
+
+        private final Writer out;
+        private final String insert;
+        private final StringBuilder rows = new StringBuilder();
+        private int count;
+
+        TableWriter(Writer out, String table, String columns) {
+            this.out = out;
+            this.insert = "INSERT INTO " + table + " (" + columns + ") VALUES";
+        }
+
+        void row(Object... values) throws IOException {
+            rows.append(count == 0 ? "\n(" : ",\n(");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    rows.append(", ");
+                }
+                rows.append(literal(values[i]));
+            }
+            rows.append(')');
+            if (++count == BATCH_ROWS) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            out.write(insert);
+            out.append(rows).write(";\n");
+            rows.setLength(0);
+            count = 0;
+        }
+    }
+}
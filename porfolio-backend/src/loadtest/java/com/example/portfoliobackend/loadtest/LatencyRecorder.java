@@ -0,0 +1,93 @@
+package com.example.portfoliobackend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes per endpoint, recorded by one driver thread and merged into a report when the run ends.
+ * Every sample is kept, so percentiles are exact; a minute at a few thousand requests per second is only a few MB.
+ */
+final class LatencyRecorder {
+
+    // Status recorded when the request failed without a response (connection refused, timeout)
+    static final int NO_RESPONSE = -1;
+
+    private final Map<String, Samples> endpoints = new TreeMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, status);
+    }
+
+    void merge(LatencyRecorder other) {
+        other.endpoints.forEach((endpoint, samples) ->
+                endpoints.computeIfAbsent(endpoint, key -> new Samples()).addAll(samples));
+    }
+
+    Map<String, EndpointStats> summarize(double seconds) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, samples) -> stats.put(endpoint, samples.summarize(seconds)));
+        return stats;
+    }
+
+    // Latencies in milliseconds; throttled (429) responses are counted apart from the other errors
+    record EndpointStats(long requests, long errors, long throttled, double throughput,
+                         double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+        private long throttled;
+
+        void add(long latency, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (status == 429) {
+                throttled++;
+            } else if (status == NO_RESPONSE || status >= 400) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, count + other.count);
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            throttled += other.throttled;
+        }
+
+        EndpointStats summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            double total = 0;
+            for (long latency : sorted) {
+                total += latency;
+            }
+            return new EndpointStats(count, errors, throttled, count / seconds,
+                    count == 0 ? 0 : millis(total / count), percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), count == 0 ? 0 : millis(sorted[count - 1]));
+        }
+
+        // Nearest-rank percentile
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return millis(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double millis(double nanos) {
+            return nanos / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.portfoliobackend.loadtest;
+
+import com.example.portfoliobackend.loadtest.LatencyRecorder.EndpointStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load driver for a running instance loaded with a {@link DatasetGenerator} dataset:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--threads=64 --duration=2m --mix=view:70,login:5,edit:20,upload:5"
+ * </pre>
+ * Each thread is one simulated user that logs in as a generated user, then repeatedly picks an action from the mix
+ * and waits for it to finish:
+ * <ul>
+ *   <li>view: loads a public portfolio the way the frontend does, every section in parallel. Portfolios are picked
+ *   with a Zipf distribution so a few are hot, and part of the repeat visits revalidate with If-None-Match.</li>
+ *   <li>login: logs in again as a random generated user.</li>
+ *   <li>edit: loads and saves either the profile or one of the user's projects.</li>
+ *   <li>upload: uploads a small PNG that is different every time.</li>
+ * </ul>
+ * Nothing is recorded during the warm-up. Throughput and latency percentiles are printed per endpoint and written
+ * as JSON, which {@link CompareRuns} compares between two runs.
+ */
+public final class LoadDriver {
+
+    private static final List<String> ACTIONS = List.of("view", "login", "edit", "upload");
+    private static final String[] PUBLIC_SECTIONS = {
+            "", "/projects", "/skills", "/education", "/experience", "/social-links", "/sections"
+    };
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final int users;
+    private final String prefix;
+    private final String password;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final double revalidate;
+    private final Zipf popularity;
+
+    private LoadDriver(Args options) {
+        this.baseUrl = URI.create(options.get("base-url", "http://localhost:8081"));
+        this.users = options.getInt("users", 1000);
+        this.prefix = options.get("prefix", DatasetGenerator.DEFAULT_PREFIX);
+        this.password = options.get("password", DatasetGenerator.DEFAULT_PASSWORD);
+        this.mix = parseMix(options.get("mix", "view:80,login:5,edit:10,upload:5"));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.revalidate = options.getDouble("revalidate", 0.3);
+        this.popularity = new Zipf(users, options.getDouble("zipf", 1.0));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Args options = new Args(args);
+        int threads = options.getInt("threads", 32);
+        Duration warmup = options.getDuration("warmup", Duration.ofSeconds(15));
+        Duration duration = options.getDuration("duration", Duration.ofSeconds(60));
+        long seed = options.getLong("seed", 42);
+        String label = options.get("label", "run");
+        Path out = Path.of(options.get("out", "target/loadtest-result.json"));
+        LoadDriver driver = new LoadDriver(options);
+
+        System.out.printf(Locale.ROOT, "Driving %s with %d threads: %d s warm-up, %d s measured, mix %s%n",
+                driver.baseUrl, threads, warmup.toSeconds(), duration.toSeconds(), driver.mix);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long until = measureFrom + duration.toNanos();
+        List<Future<LatencyRecorder>> runs = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            SimulatedUser user = driver.new SimulatedUser(new Random(seed + i), measureFrom);
+            runs.add(pool.submit(() -> user.runUntil(until)));
+        }
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (Future<LatencyRecorder> run : runs) {
+            recorder.merge(run.get());
+        }
+        pool.shutdown();
+
+        Map<String, EndpointStats> stats = recorder.summarize(duration.toNanos() / 1e9);
+        print(label, stats);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("threads", threads);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("mix", driver.mix);
+        result.put("endpoints", stats);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), result);
+        System.out.println("Results written to " + out);
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.split(":");
+            String action = entry[0].trim();
+            if (!ACTIONS.contains(action) || entry.length != 2) {
+                throw new IllegalArgumentException("Mix entries are <action>:<weight> with an action from " + ACTIONS);
+            }
+            mix.put(action, Integer.parseInt(entry[1].trim()));
+        }
+        return mix;
+    }
+
+    private static void print(String label, Map<String, EndpointStats> stats) {
+        System.out.printf(Locale.ROOT, "%nResults for '%s'%n%-44s %9s %7s %6s %9s %8s %8s %8s %8s %8s%n", label,
+                "Endpoint", "Requests", "Errors", "429", "Req/s", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        stats.forEach((endpoint, s) -> System.out.printf(Locale.ROOT,
+                "%-44s %9d %7d %6d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n", endpoint, s.requests(), s.errors(),
+                s.throttled(), s.throughput(), s.meanMs(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+    }
+
+    private final class SimulatedUser {
+
+        private final Random random;
+        private final long measureFrom;
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        // Validators of the public pages this user has seen, least recently used dropped first
+        private final Map<String, String> etags = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > 5000;
+            }
+        };
+        private String token;
+
+        SimulatedUser(Random random, long measureFrom) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+        }
+
+        LatencyRecorder runUntil(long until) throws InterruptedException {
+            while (System.nanoTime() < until) {
+                try {
+                    if (token == null) {
+                        login();
+                        if (token == null) {
+                            // Back off a little rather than spinning on a refused or throttled login
+                            Thread.sleep(100);
+                        }
+                        continue;
+                    }
+                    switch (pickAction()) {
+                        case "view" -> view();
+                        case "login" -> login();
+                        case "edit" -> edit();
+                        default -> upload();
+                    }
+                } catch (IOException e) {
+                    // A response we could not parse; the request itself has already been recorded
+                }
+            }
+            return recorder;
+        }
+
+        private String pickAction() {
+            int roll = random.nextInt(totalWeight);
+            for (Map.Entry<String, Integer> action : mix.entrySet()) {
+                roll -= action.getValue();
+                if (roll < 0) {
+                    return action.getKey();
+                }
+            }
+            throw new IllegalStateException("Empty mix");
+        }
+
+        private void login() throws IOException, InterruptedException {
+            String username = prefix + (1 + random.nextInt(users));
+            String body = MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+            HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/auth/login"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = send("POST /api/auth/login", request);
+            if (ok(response)) {
+                token = MAPPER.readTree(response.body()).path("token").asText();
+            }
+        }
+
+        // One page view: all sections in parallel, timed as a whole as well as per request
+        private void view() {
+            String username = prefix + (1 + popularity.sample(random));
+            long start = System.nanoTime();
+            List<CompletableFuture<Sample>> loads = new ArrayList<>();
+            for (String section : PUBLIC_SECTIONS) {
+                String path = "/api/portfolios/" + username + section;
+                String endpoint = "GET /api/portfolios/{username}" + section;
+                HttpRequest.Builder request = request(path).GET();
+                String etag = etags.get(path);
+                if (etag != null && random.nextDouble() < revalidate) {
+                    request.header("If-None-Match", etag);
+                }
+                loads.add(client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                        .handle((response, failure) -> new Sample(path, endpoint, System.nanoTime(),
+                                response == null ? LatencyRecorder.NO_RESPONSE : response.statusCode(),
+                                response == null ? null : response.headers().firstValue("ETag").orElse(null))));
+            }
+            long end = start;
+            int pageStatus = 200;
+            for (CompletableFuture<Sample> load : loads) {
+                Sample sample = load.join();
+                record(sample.endpoint(), start, sample.end(), sample.status());
+                if (sample.etag() != null) {
+                    etags.put(sample.path(), sample.etag());
+                }
+                if (sample.status() == LatencyRecorder.NO_RESPONSE || sample.status() >= 400) {
+                    pageStatus = sample.status();
+                }
+                end = Math.max(end, sample.end());
+            }
+            record("page /api/portfolios/{username}/*", start, end, pageStatus);
+            if (pageStatus == 401) {
+                token = null;
+            }
+        }
+
+        private void edit() throws IOException, InterruptedException {
+            if (random.nextBoolean()) {
+                HttpResponse<String> response = send("GET /api/profile", request("/api/profile").GET().build());
+                if (!ok(response)) {
+                    return;
+                }
+                // The profile is read with snake_case keys but updated with the field names
+                JsonNode profile = MAPPER.readTree(response.body());
+                Map<String, Object> update = new HashMap<>();
+                update.put("firstName", text(profile, "first_name"));
+                update.put("lastName", text(profile, "last_name"));
+                update.put("bio", edited(text(profile, "bio")));
+                update.put("profileImage", text(profile, "profile_image"));
+                update.put("jobTitle", text(profile, "job_title"));
+                update.put("location", text(profile, "location"));
+                update.put("cvUrl", text(profile, "cv_url"));
+                send("PUT /api/profile", json(request("/api/profile"), update));
+                return;
+            }
+            HttpResponse<String> response = send("GET /api/profile/projects",
+                    request("/api/profile/projects").GET().build());
+            if (!ok(response)) {
+                return;
+            }
+            JsonNode projects = MAPPER.readTree(response.body());
+            if (!projects.isArray() || projects.isEmpty()) {
+                return;
+            }
+            ObjectNode project = (ObjectNode) projects.get(random.nextInt(projects.size()));
+            project.put("description", edited(text(project, "description")));
+            send("PUT /api/profile/projects/{id}",
+                    json(request("/api/profile/projects/" + project.path("id").asLong()), project));
+        }
+
+        private void upload() throws IOException, InterruptedException {
+            String boundary = "loadtest-" + Long.toHexString(random.nextLong());
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            body.write(("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.png\"\r\n"
+                    + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            body.write(image());
+            body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+            send("POST /api/upload", request("/api/upload")
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                    .build());
+        }
+
+        // Random gradients: new content on every upload, but it compresses like a picture rather than noise
+        private byte[] image() throws IOException {
+            BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+            int red = random.nextInt(256);
+            int green = random.nextInt(256);
+            int blue = random.nextInt(256);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    image.setRGB(x, y, ((red + x) & 0xFF) << 16 | ((green + y) & 0xFF) << 8 | ((blue + x + y) & 0xFF));
+                }
+            }
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", png);
+            return png.toByteArray();
+        }
+
+        private String edited(String text) {
+            String original = text == null ? "" : text.replaceFirst("^Edited [0-9a-f]+\\. ", "");
+            return "Edited " + Integer.toHexString(random.nextInt()) + ". " + original;
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(baseUrl.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token);
+        }
+
+        private HttpRequest json(HttpRequest.Builder request, Object body) throws IOException {
+            return request.header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                    .build();
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest request) throws InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> response = null;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                // Recorded as a request without a response
+            }
+            int status = response == null ? LatencyRecorder.NO_RESPONSE : response.statusCode();
+            record(endpoint, start, System.nanoTime(), status);
+            if (status == 401) {
+                token = null;
+            }
+            return response;
+        }
+
+        private void record(String endpoint, long start, long end, int status) {
+            if (start >= measureFrom) {
+                recorder.record(endpoint, end - start, status);
+            }
+        }
+
+        private boolean ok(HttpResponse<String> response) {
+            return response != null && response.statusCode() == 200;
+        }
+
+        private String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+
+    private record Sample(String path, String endpoint, long end, int status, String etag) {
+    }
+}
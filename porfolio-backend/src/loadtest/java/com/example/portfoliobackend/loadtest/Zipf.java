@@ -0,0 +1,28 @@
+package com.example.portfoliobackend.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf-distributed ranks: a few items (popular skills, hot portfolios) get most of the picks, with a long tail.
+ */
+final class Zipf {
+
+    private final double[] cumulative;
+
+    Zipf(int size, double exponent) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+
+    // Returns a rank from 0 (most popular) to size - 1
+    int sample(Random random) {
+        double x = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, x);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.portfoliobackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.portfolio.loader.pool-size:8}")
+    private int loaderPoolSize;
+
+    @Value("${app.portfolio.loader.queue-capacity:200}")
+    private int loaderQueueCapacity;
+
+    @Value("${app.security.hashing.pool-size:2}")
+    private int hashingPoolSize;
+
+    @Value("${app.security.hashing.queue-capacity:32}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.media.jobs.workers:2}")
+    private int mediaJobWorkers;
+
+    // Executor used to load the independent sections of a public portfolio in parallel.
+    // In virtual-thread mode each load gets its own virtual thread, still capped at pool-size concurrent loads.
+    @Bean(name = "portfolioLoaderExecutor")
+    public TaskExecutor portfolioLoaderExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("portfolio-loader-", loaderPoolSize);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("portfolio-loader-");
+        executor.setCorePoolSize(loaderPoolSize);
+        executor.setMaxPoolSize(loaderPoolSize);
+        executor.setQueueCapacity(loaderQueueCapacity);
+        // When saturated, run the load on the request thread instead of failing the request
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is deliberately slow; keeping it on its own small pool caps how much CPU logins can take.
+    // The default AbortPolicy rejects work once the queue is full, which login turns into a 429.
+    // This is CPU-bound work, so it stays on platform threads in virtual-thread mode too.
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setCorePoolSize(hashingPoolSize);
+        executor.setMaxPoolSize(hashingPoolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    // Workers for MediaJobService; the poller never claims more jobs than there are free workers
+    @Bean(name = "mediaJobExecutor")
+    public TaskExecutor mediaJobExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("media-job-", mediaJobWorkers);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("media-job-");
+        executor.setCorePoolSize(mediaJobWorkers);
+        executor.setMaxPoolSize(mediaJobWorkers);
+        executor.setQueueCapacity(mediaJobWorkers);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // spring.threads.virtual.enabled=true on JDK 21+; the limit keeps the same cap on concurrent database work
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
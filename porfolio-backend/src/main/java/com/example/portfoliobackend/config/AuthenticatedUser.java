@@ -0,0 +1,16 @@
+package com.example.portfoliobackend.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a request authenticated by JWT, built from the token's verified claims.
+ * Authentication.getName() returns the username, so controllers keep working unchanged.
+ * tokenId is the session's token id, or null for tokens issued before sessions were tracked.
+ */
+public record AuthenticatedUser(Long id, String username, String tokenId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.portfoliobackend.config;
 
-import com.example.portfoliobackend.service.CustomUserDetailsService;
+import com.example.portfoliobackend.repository.UserRepository;
+import com.example.portfoliobackend.service.SessionRegistry;
 import com.example.portfoliobackend.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,16 +17,27 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final SessionRegistry sessionRegistry;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    // Only used for tokens issued before the user id claim existed
+    private final Cache<String, AuthenticatedUser> legacyPrincipals = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository, SessionRegistry sessionRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @Override
@@ -42,31 +56,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Apply JWT check for other paths
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtUtil.getUsernameFromToken(token);
-            } catch (Exception e) {
-                logger.error("JWT token validation failed: " + e.getMessage());
-            }
-        }
-        
-        // Once we get the token, validate it
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = resolvePrincipal(authHeader.substring(7));
+
             // If token is valid, configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(token)) {
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                        
-                authentication.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request));
-                    
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+
+                authentication.setDetails(detailsSource.buildDetails(request));
+
                 // After setting the Authentication in the context, we specify
                 // that the current user is authenticated
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -75,4 +75,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Parses and verifies the token exactly once and builds the principal from its claims
+    private AuthenticatedUser resolvePrincipal(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            logger.error("JWT token validation failed: " + e.getMessage());
+            return null;
+        }
+
+        // Revocation is answered from the in-memory session index
+        String tokenId = claims.getId();
+        if (tokenId != null && !sessionRegistry.isActive(tokenId, claims.getExpiration())) {
+            return null;
+        }
+
+        String username = claims.getSubject();
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        if (userId != null) {
+            return new AuthenticatedUser(userId, username, tokenId);
+        }
+        AuthenticatedUser principal = legacyPrincipals.getIfPresent(username);
+        if (principal == null) {
+            principal = userRepository.findByUsername(username)
+                    .map(user -> new AuthenticatedUser(user.getId(), user.getUsername(), null))
+                    .orElse(null);
+            if (principal != null) {
+                legacyPrincipals.put(username, principal);
+            }
+        }
+        return principal;
+    }
 }
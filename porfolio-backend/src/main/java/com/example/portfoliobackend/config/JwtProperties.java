@@ -9,6 +9,8 @@ public class JwtProperties {
 
     private String secret;
     private Long expiration;
+    // Upper bound on the number of verified tokens kept in memory
+    private long verifiedCacheSize = 10_000;
 
     public String getSecret() {
         return secret;
@@ -25,4 +27,12 @@ public class JwtProperties {
     public void setExpiration(Long expiration) {
         this.expiration = expiration;
     }
+
+    public long getVerifiedCacheSize() {
+        return verifiedCacheSize;
+    }
+
+    public void setVerifiedCacheSize(long verifiedCacheSize) {
+        this.verifiedCacheSize = verifiedCacheSize;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.portfoliobackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.portfolio.cache")
+public class PortfolioCacheProperties {
+
+    // Upper bound on the summed size in bytes of all cached response snapshots
+    private Long maximumWeight = 64L * 1024 * 1024;
+    private Long expireAfterWriteSeconds = 600L;
+
+    public Long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(Long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public Long getExpireAfterWriteSeconds() {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(Long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+}
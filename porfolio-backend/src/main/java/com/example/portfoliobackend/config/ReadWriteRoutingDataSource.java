@@ -0,0 +1,145 @@
+package com.example.portfoliobackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends replica-read transactions (read-only and named {@link #REPLICA_READ}) to a healthy read replica,
+ * everything else to the primary. Replica reads are opt-in by name because Spring Data runs its own
+ * findById/findAll in read-only transactions, including inside write flows that must see the primary.
+ * <p>
+ * Meant to sit behind a LazyConnectionDataSourceProxy, so the decision is made at the first statement,
+ * once the transaction's read-only flag and name are bound. A replica that cannot be reached or lags
+ * more than maxLagSeconds is taken out of rotation; with none left, replica reads use the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String REPLICA_READ = "replica-read";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Replaced as a whole by the health check; replicas start out of rotation until their first check passes
+    private volatile List<String> inRotation = List.of();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                      long maxLagSeconds, String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !REPLICA_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return PRIMARY;
+        }
+        List<String> healthy = inRotation;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem == null) {
+                healthy.add(replica.key);
+                if (!replica.healthy) {
+                    logger.info("Read replica {} is in rotation", replica.key);
+                }
+            } else if (replica.healthy) {
+                logger.warn("Read replica {} taken out of rotation: {}", replica.key, problem);
+            }
+            replica.healthy = problem == null;
+        }
+        inRotation = List.copyOf(healthy);
+    }
+
+    public List<String> replicasInRotation() {
+        return inRotation;
+    }
+
+    // Returns why the replica cannot serve reads, or null when it can
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return "not replicating";
+            }
+            long lagSeconds = rs.getLong(lagColumn);
+            if (rs.wasNull()) {
+                return "replication stopped";
+            }
+            return lagSeconds > maxLagSeconds ? lagSeconds + "s behind the primary" : null;
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close data source", e);
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        // Only touched by the health check
+        private boolean healthy;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
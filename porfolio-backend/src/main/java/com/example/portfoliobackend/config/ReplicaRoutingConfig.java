@@ -0,0 +1,73 @@
+package com.example.portfoliobackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured datasource when read replicas are enabled; see ReadWriteRoutingDataSource
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReplicaProperties replicaProperties,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        // Same pool the auto-configuration would build, including the spring.datasource.hikari.* settings
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        String poolName = primary.getPoolName() != null ? primary.getPoolName() : "portfolio-db";
+        primary.setPoolName(poolName);
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName(poolName + "-replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            if (replicaProperties.getUsername() != null) {
+                replica.setUsername(replicaProperties.getUsername());
+                replica.setPassword(replicaProperties.getPassword());
+            }
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setMinimumIdle(Math.min(primary.getMinimumIdle(), replicaProperties.getMaximumPoolSize()));
+            replica.setReadOnly(true);
+            // A replica that is down at startup only stays out of rotation, it does not stop the application
+            replica.setInitializationFailTimeout(-1);
+            pools.add(replica);
+            replicas.add(replica);
+        }
+        // The pool metrics auto-configuration only sees the primary through the routing proxy
+        meterRegistry.ifAvailable(registry -> pools.forEach(pool ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry))));
+
+        return new ReadWriteRoutingDataSource(primary, replicas, replicaProperties.getMaxLagSeconds(),
+                replicaProperties.getLagQuery(), replicaProperties.getLagColumn());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
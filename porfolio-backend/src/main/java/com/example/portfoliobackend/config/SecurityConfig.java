@@ -1,9 +1,7 @@
 package com.example.portfoliobackend.config;
 
-import com.example.portfoliobackend.model.User;
-import com.example.portfoliobackend.repository.UserRepository;
-import com.example.portfoliobackend.service.CustomUserDetailsService;
-import com.example.portfoliobackend.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -12,12 +10,14 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,14 +28,17 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final int serverPort;
+    // 0 when actuator shares the application port
+    private final int managementPort;
 
-    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, UserRepository userRepository) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
-        this.userRepository = userRepository;
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          @Value("${server.port:8080}") int serverPort,
+                          @Value("${management.server.port:0}") int managementPort) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.serverPort = serverPort;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -48,6 +51,8 @@ public class SecurityConfig {
                 .requestMatchers("/uploads/**").permitAll() // Allow access to uploaded files
                 .requestMatchers("/api/skills").permitAll() // Allow access to skills endpoint
                 .requestMatchers("/api/portfolio/**").permitAll() // Public portfolios
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers(prometheusOnManagementPort()).permitAll()
                 .anyRequest().authenticated()
                 .and()
                 .exceptionHandling()
@@ -56,8 +61,7 @@ public class SecurityConfig {
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userDetailsService),
-                        UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         // Disable basic auth popup dialog
         http.httpBasic().disable();
@@ -65,6 +69,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // The JWT filter is a @Component so it can be injected above; without this Boot would also register it as a
+    // plain servlet filter and it would run outside the security chain as well
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // The scrape endpoint is only public on a separate management port, which stays off the public load balancer;
+    // on the application port it needs a valid token like /actuator/metrics
+    private RequestMatcher prometheusOnManagementPort() {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        return new AndRequestMatcher(new AntPathRequestMatcher("/actuator/prometheus"),
+                request -> separatePort && request.getLocalPort() == managementPort);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -85,8 +107,9 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // Raising the strength takes effect for existing users on their next login (see AuthController.login)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -1,41 +1,56 @@
 package com.example.portfoliobackend.controller;
 
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
 import com.example.portfoliobackend.model.PortfolioSettings;
 import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSession;
 import com.example.portfoliobackend.repository.PortfolioSettingsRepository;
 import com.example.portfoliobackend.repository.UserRepository;
+import com.example.portfoliobackend.service.LoginThrottle;
+import com.example.portfoliobackend.service.PasswordHashingService;
+import com.example.portfoliobackend.service.SessionRegistry;
 import com.example.portfoliobackend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
+    private final LoginThrottle loginThrottle;
     private final JwtUtil jwtUtil;
     private final PortfolioSettingsRepository portfolioSettingsRepository;
-
-    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository,
-                          PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
-                          PortfolioSettingsRepository portfolioSettingsRepository) {
-        this.authenticationManager = authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionRegistry sessionRegistry;
+
+    public AuthController(UserRepository userRepository, PasswordHashingService passwordHashing,
+                          LoginThrottle loginThrottle, JwtUtil jwtUtil,
+                          PortfolioSettingsRepository portfolioSettingsRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          SessionRegistry sessionRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
+        this.loginThrottle = loginThrottle;
         this.jwtUtil = jwtUtil;
         this.portfolioSettingsRepository = portfolioSettingsRepository;
+        this.eventPublisher = eventPublisher;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @PostMapping("/register")
@@ -50,7 +65,11 @@ public class AuthController {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        try {
+            user.setPassword(passwordHashing.encode(request.getPassword()));
+        } catch (PasswordHashingService.BusyException e) {
+            return tooManyRequests(1, "Server is busy, please try again");
+        }
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setBio(request.getBio());
@@ -73,33 +92,89 @@ public class AuthController {
         settings.setIsPublic(true); // Setting portfolio to public by default
         settings.setUpdatedAt(LocalDateTime.now());
         portfolioSettingsRepository.save(settings);
+        // Drop any cached "User not found" response for this username
+        eventPublisher.publishEvent(PortfolioChangedEvent.all(user.getUsername()));
         
         return ResponseEntity.ok("User registered successfully");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        long start = System.nanoTime();
+        String ipAddress = httpRequest.getRemoteAddr();
+        long retryAfter = loginThrottle.checkAttempt(request.getUsername(), ipAddress);
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter, "Too many login attempts, please try again later");
+        }
+
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        boolean valid;
         try {
-            System.out.println("Login attempt for user: " + request.getUsername());
+            // Unknown usernames still pay for one hash, so they can't be told apart by timing
+            valid = passwordHashing.matches(request.getPassword(), user != null ? user.getPassword() : null);
+        } catch (PasswordHashingService.BusyException e) {
+            return tooManyRequests(1, "Server is busy, please try again");
+        }
+        if (!valid) {
+            loginThrottle.recordFailure(request.getUsername());
+            logger.atInfo()
+                    .setMessage("Login failed")
+                    .addKeyValue("username", request.getUsername())
+                    .addKeyValue("ip", ipAddress)
+                    .log();
+            return ResponseEntity.status(401).body("Invalid username or password");
+        }
+        loginThrottle.recordSuccess(request.getUsername());
+
+        // Re-hash with the configured BCrypt strength when it was raised since this password was stored
+        if (passwordHashing.upgradeEncoding(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashing.encode(request.getPassword()));
+                user = userRepository.save(user);
+            } catch (PasswordHashingService.BusyException e) {
+                // Not critical, the next login will try again
+            }
+        }
 
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-            System.out.println("Authentication successful for: " + request.getUsername());
+        // Issue the token for the stored user so it carries the canonical username and the user id
+        UserSession session = sessionRegistry.register(user, ipAddress, httpRequest.getHeader("User-Agent"));
+        String jwt = jwtUtil.generateToken(user, session.getToken());
+        logger.atDebug()
+                .setMessage("Login succeeded")
+                .addKeyValue("username", user.getUsername())
+                .addKeyValue("userId", user.getId())
+                .addKeyValue("latencyMs", () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log();
+
+        return ResponseEntity.ok(new JwtResponse(jwt));
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<?> tooManyRequests(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(message);
+    }
 
-            String jwt = jwtUtil.generateToken(request.getUsername());
-            System.out.println("JWT generated for: " + request.getUsername());
 
-            return ResponseEntity.ok(new JwtResponse(jwt));
-        } catch (BadCredentialsException e) {
-            System.out.println("Authentication failed for: " + request.getUsername() + ", error: " + e.getMessage());
-            return ResponseEntity.status(401).body("Invalid username or password");
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body("Missing token");
         }
+        String token = authHeader.substring(7);
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            return ResponseEntity.status(401).body("Invalid token");
+        }
+        if (claims.getId() != null) {
+            sessionRegistry.revokeByTokenId(claims.getId());
+        }
+        jwtUtil.invalidate(token);
+        return ResponseEntity.ok("Logged out");
     }
 
-
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
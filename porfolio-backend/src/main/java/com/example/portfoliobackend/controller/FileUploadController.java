@@ -1,11 +1,17 @@
 package com.example.portfoliobackend.controller;
 
+import com.example.portfoliobackend.config.AuthenticatedUser;
 import com.example.portfoliobackend.service.FileStorageService;
+import com.example.portfoliobackend.service.MediaJobService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -18,13 +24,16 @@ public class FileUploadController {
     private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
 
     private final FileStorageService fileStorageService;
+    private final MediaJobService mediaJobService;
     private final String appUrl;
     
     public FileUploadController(
             FileStorageService fileStorageService,
+            MediaJobService mediaJobService,
             @Value("${app.url}") String appUrl
     ) {
         this.fileStorageService = fileStorageService;
+        this.mediaJobService = mediaJobService;
         this.appUrl = appUrl;
     }
     
@@ -33,10 +42,16 @@ public class FileUploadController {
         logger.info("Received upload request for file: {}", file.getOriginalFilename());
         logger.info("File size: {} bytes", file.getSize());
         logger.info("Content type: {}", file.getContentType());
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
         
         try {
-            String filename = fileStorageService.store(file);
+            String filename = fileStorageService.store(file, userId);
             logger.info("File stored successfully with name: {}", filename);
+            // Derivatives and compressed copies are produced in the background
+            mediaJobService.enqueueFor(filename, null);
             
             Map<String, String> response = new HashMap<>();
             response.put("filename", filename);
@@ -50,15 +65,52 @@ public class FileUploadController {
         }
     }
     
+    // Streams the raw request body straight to disk, for large media that should not be buffered as multipart
+    @PutMapping("/stream")
+    public ResponseEntity<Map<String, Object>> streamFile(@RequestParam("filename") String originalFilename,
+                                                          HttpServletRequest request) throws IOException {
+        logger.info("Received streaming upload for file: {} ({} bytes declared)",
+                originalFilename, request.getContentLengthLong());
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        FileStorageService.StoredFile stored =
+                fileStorageService.store(request.getInputStream(), originalFilename, request.getContentType(),
+                        request.getContentLengthLong(), userId);
+        logger.info("File stored successfully with name: {} ({} bytes)", stored.filename(), stored.size());
+        mediaJobService.enqueueFor(stored.filename(), null);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("filename", stored.filename());
+        response.put("fileUrl", appUrl + "/uploads/" + stored.filename());
+        response.put("size", stored.size());
+        response.put("sha256", stored.contentHash());
+
+        return ResponseEntity.ok(response);
+    }
+    
+    // Only releases the caller's own reference, so files other users still hold stay in place
     @DeleteMapping("/{filename}")
     public ResponseEntity<Map<String, Boolean>> deleteFile(@PathVariable String filename) {
         logger.info("Received delete request for file: {}", filename);
-        fileStorageService.delete(filename);
-        logger.info("File deleted: {}", filename);
+        boolean deleted = fileStorageService.delete(filename, currentUserId());
         
         Map<String, Boolean> response = new HashMap<>();
-        response.put("deleted", true);
+        response.put("deleted", deleted);
+        if (!deleted) {
+            logger.info("No reference to release for file: {}", filename);
+            return ResponseEntity.status(404).body(response);
+        }
+        logger.info("File reference released: {}", filename);
         
         return ResponseEntity.ok(response);
     }
+
+    // The JWT filter authenticates every /api request with an AuthenticatedUser
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal ? principal.id() : null;
+    }
 } 
\ No newline at end of file
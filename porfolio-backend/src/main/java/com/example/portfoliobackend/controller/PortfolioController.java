@@ -1,7 +1,11 @@
 package com.example.portfoliobackend.controller;
 
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
 import com.example.portfoliobackend.model.PortfolioSettings;
+import com.example.portfoliobackend.model.User;
 import com.example.portfoliobackend.repository.PortfolioSettingsRepository;
+import com.example.portfoliobackend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -11,9 +15,15 @@ import org.springframework.web.bind.annotation.*;
 public class PortfolioController {
 
     private final PortfolioSettingsRepository settingsRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PortfolioController(PortfolioSettingsRepository settingsRepository) {
+    public PortfolioController(PortfolioSettingsRepository settingsRepository,
+                               UserRepository userRepository,
+                               ApplicationEventPublisher eventPublisher) {
         this.settingsRepository = settingsRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @PutMapping("/settings")
@@ -30,6 +40,10 @@ public class PortfolioController {
         existingSettings.setIsPublic(settings.getIsPublic());
         existingSettings.setUpdatedAt(java.time.LocalDateTime.now());
         settingsRepository.save(existingSettings);
+        // Settings belong to settings.getUserId(), which is not necessarily the caller
+        userRepository.findById(existingSettings.getUserId())
+                .map(User::getUsername)
+                .ifPresent(owner -> eventPublisher.publishEvent(PortfolioChangedEvent.all(owner)));
         return ResponseEntity.ok("Settings updated");
     }
 }
\ No newline at end of file
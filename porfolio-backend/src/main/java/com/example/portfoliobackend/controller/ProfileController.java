@@ -1,16 +1,28 @@
 package com.example.portfoliobackend.controller;
 
+import com.example.portfoliobackend.config.AuthenticatedUser;
+import com.example.portfoliobackend.dto.UserSkillDetail;
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
 import com.example.portfoliobackend.model.*;
 import com.example.portfoliobackend.repository.*;
+import com.example.portfoliobackend.service.MediaJobService;
+import com.example.portfoliobackend.service.PortfolioCache.Section;
+import com.example.portfoliobackend.service.PortfolioVersionService;
+import com.example.portfoliobackend.service.ReplicaReads;
+import com.example.portfoliobackend.service.SessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +31,8 @@ import java.util.Map;
 @RequestMapping("/api/profile")
 public class ProfileController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
+
     private final UserRepository userRepository;
     private final PortfolioSettingsRepository portfolioSettingsRepository;
     private final ProjectRepository projectRepository;
@@ -28,6 +42,12 @@ public class ProfileController {
     private final SocialLinkRepository socialLinkRepository;
     private final PortfolioSectionRepository portfolioSectionRepository;
     private final SkillRepository skillRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PortfolioVersionService portfolioVersions;
+    private final SessionRegistry sessionRegistry;
+    private final ProjectMediaRepository projectMediaRepository;
+    private final MediaJobService mediaJobService;
+    private final ReplicaReads replicaReads;
 
     public ProfileController(UserRepository userRepository,
                              PortfolioSettingsRepository portfolioSettingsRepository,
@@ -37,7 +57,13 @@ public class ProfileController {
                              WorkExperienceRepository workExperienceRepository,
                              SocialLinkRepository socialLinkRepository,
                              PortfolioSectionRepository portfolioSectionRepository,
-                             SkillRepository skillRepository) {
+                             SkillRepository skillRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             PortfolioVersionService portfolioVersions,
+                             SessionRegistry sessionRegistry,
+                             ProjectMediaRepository projectMediaRepository,
+                             MediaJobService mediaJobService,
+                             ReplicaReads replicaReads) {
         this.userRepository = userRepository;
         this.portfolioSettingsRepository = portfolioSettingsRepository;
         this.projectRepository = projectRepository;
@@ -47,33 +73,57 @@ public class ProfileController {
         this.socialLinkRepository = socialLinkRepository;
         this.portfolioSectionRepository = portfolioSectionRepository;
         this.skillRepository = skillRepository;
+        this.eventPublisher = eventPublisher;
+        this.portfolioVersions = portfolioVersions;
+        this.sessionRegistry = sessionRegistry;
+        this.projectMediaRepository = projectMediaRepository;
+        this.mediaJobService = mediaJobService;
+        this.replicaReads = replicaReads;
+    }
+
+    // Conditional GET support: the ETag comes from the per-user version, so a 304 needs no section queries
+    private String etagFor(String username, String representation) {
+        return portfolioVersions.etag(username, "profile-" + representation);
+    }
+
+    private ResponseEntity<?> okWithEtag(String etag, Object body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
     }
 
     // User Profile Update
     @GetMapping
-    public ResponseEntity<?> getProfile() {
+    public ResponseEntity<?> getProfile(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "profile");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
         
-        // Create a custom response map with snake_case keys to match frontend expectations
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("username", user.getUsername());
-        response.put("email", user.getEmail());
-        response.put("first_name", user.getFirstName());
-        response.put("last_name", user.getLastName());
-        response.put("bio", user.getBio());
-        response.put("profile_image", user.getProfileImage());
-        response.put("job_title", user.getJobTitle());
-        response.put("location", user.getLocation());
-        response.put("cv_url", user.getCvUrl());
-        response.put("created_at", user.getCreatedAt());
-        response.put("updated_at", user.getUpdatedAt());
+            // Create a custom response map with snake_case keys to match frontend expectations
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", user.getId());
+            response.put("username", user.getUsername());
+            response.put("email", user.getEmail());
+            response.put("first_name", user.getFirstName());
+            response.put("last_name", user.getLastName());
+            response.put("bio", user.getBio());
+            response.put("profile_image", user.getProfileImage());
+            response.put("job_title", user.getJobTitle());
+            response.put("location", user.getLocation());
+            response.put("cv_url", user.getCvUrl());
+            response.put("created_at", user.getCreatedAt());
+            response.put("updated_at", user.getUpdatedAt());
         
-        return ResponseEntity.ok(response);
+            return okWithEtag(etag, response);
+        });
     }
 
     @PutMapping
@@ -92,13 +142,18 @@ public class ProfileController {
         user.setCvUrl(request.getCvUrl());
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROFILE));
         return ResponseEntity.ok("Profile updated successfully");
     }
 
     // Portfolio Settings
     @GetMapping("/settings")
-    public ResponseEntity<?> getPortfolioSettings() {
+    public ResponseEntity<?> getPortfolioSettings(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        String etag = etagFor(username, "settings");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         User user = userRepository.findByUsername(username).orElse(null);
         if (user == null) {
             return ResponseEntity.status(404).body("User not found");
@@ -119,9 +174,10 @@ public class ProfileController {
             settings.setIsPublic(true); // Set portfolio to public by default
             settings.setUpdatedAt(LocalDateTime.now());
             portfolioSettingsRepository.save(settings);
+            eventPublisher.publishEvent(PortfolioChangedEvent.all(username));
         }
         
-        return ResponseEntity.ok(settings);
+        return okWithEtag(etag, settings);
     }
 
     @PutMapping("/settings")
@@ -142,19 +198,26 @@ public class ProfileController {
         existingSettings.setIsPublic(settings.getIsPublic());
         existingSettings.setUpdatedAt(LocalDateTime.now());
         portfolioSettingsRepository.save(existingSettings);
+        eventPublisher.publishEvent(PortfolioChangedEvent.all(username));
         return ResponseEntity.ok("Settings updated");
     }
 
     // Projects
     @GetMapping("/projects")
-    public ResponseEntity<?> getProjects() {
+    public ResponseEntity<?> getProjects(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "projects");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        List<Project> projects = projectRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(projects);
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<Project> projects = projectRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
+            return okWithEtag(etag, projects);
+        });
     }
 
     @PostMapping("/projects")
@@ -168,6 +231,7 @@ public class ProfileController {
         project.setCreatedAt(LocalDateTime.now());
         project.setUpdatedAt(LocalDateTime.now());
         projectRepository.save(project);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROJECTS));
         return ResponseEntity.ok("Project added");
     }
 
@@ -195,6 +259,7 @@ public class ProfileController {
         existingProject.setEndDate(project.getEndDate());
         existingProject.setUpdatedAt(LocalDateTime.now());
         projectRepository.save(existingProject);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROJECTS));
         return ResponseEntity.ok("Project updated");
     }
 
@@ -212,46 +277,96 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Project not found or unauthorized");
         }
         projectRepository.delete(project);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROJECTS));
         return ResponseEntity.ok("Project deleted");
     }
 
+    // Project Media
+    @GetMapping("/projects/{projectId}/media")
+    public ResponseEntity<?> getProjectMedia(@PathVariable Long projectId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        Project project = projectRepository.findById(projectId)
+                .filter(p -> p.getUserId().equals(user.getId()))
+                .orElse(null);
+        if (project == null) {
+            return ResponseEntity.status(404).body("Project not found or unauthorized");
+        }
+        return ResponseEntity.ok(projectMediaRepository.findByProjectIdOrderByDisplayOrderAscIdAsc(projectId));
+    }
+
+    @PostMapping("/projects/{projectId}/media")
+    public ResponseEntity<?> addProjectMedia(@PathVariable Long projectId, @Valid @RequestBody ProjectMedia media) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        Project project = projectRepository.findById(projectId)
+                .filter(p -> p.getUserId().equals(user.getId()))
+                .orElse(null);
+        if (project == null) {
+            return ResponseEntity.status(404).body("Project not found or unauthorized");
+        }
+        media.setId(null);
+        media.setProjectId(projectId);
+        media.setProcessingStatus(ProjectMedia.ProcessingStatus.ready);
+        media.setCreatedAt(LocalDateTime.now());
+        ProjectMedia saved = projectMediaRepository.save(media);
+        // Marks the media pending while its file's derivatives are still being produced
+        saved.setProcessingStatus(mediaJobService.attach(saved));
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROJECTS));
+        return ResponseEntity.ok(saved);
+    }
+
+    @DeleteMapping("/projects/{projectId}/media/{id}")
+    public ResponseEntity<?> deleteProjectMedia(@PathVariable Long projectId, @PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        Project project = projectRepository.findById(projectId)
+                .filter(p -> p.getUserId().equals(user.getId()))
+                .orElse(null);
+        ProjectMedia media = project == null ? null : projectMediaRepository.findById(id)
+                .filter(m -> m.getProjectId().equals(projectId))
+                .orElse(null);
+        if (media == null) {
+            return ResponseEntity.status(404).body("Media not found or unauthorized");
+        }
+        projectMediaRepository.delete(media);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.PROJECTS));
+        return ResponseEntity.ok("Media deleted");
+    }
+
     // User Skills
     @GetMapping("/skills")
-    public ResponseEntity<?> getUserSkills() {
+    public ResponseEntity<?> getUserSkills(WebRequest webRequest) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth.getPrincipal() == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
-        User user = (User) auth.getPrincipal();
-        List<UserSkill> userSkills = userSkillRepository.findByUserId(user.getId());
-        // Fetch skill details for each user skill
-        List<Map<String, Object>> skillsWithDetails = new ArrayList<>();
-        for (UserSkill userSkill : userSkills) {
-            Optional<Skill> skill = skillRepository.findById(userSkill.getSkillId());
-            if (skill.isPresent()) {
-                Map<String, Object> skillData = new HashMap<>();
-                skillData.put("id", userSkill.getId());
-                skillData.put("skillId", userSkill.getSkillId());
-                skillData.put("skillName", skill.get().getName());
-                skillData.put("category", skill.get().getCategory());
-                skillData.put("proficiency", userSkill.getProficiency());
-                skillData.put("yearsExperience", userSkill.getYearsExperience());
-                skillsWithDetails.add(skillData);
-            }
+        String etag = etagFor(auth.getName(), "skills");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        return ResponseEntity.ok(skillsWithDetails);
+        return replicaReads.read(auth.getName(), () -> {
+            User user = userRepository.findByUsername(auth.getName()).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<UserSkillDetail> skillsWithDetails = userSkillRepository.findDetailsByUserId(user.getId());
+            return okWithEtag(etag, skillsWithDetails);
+        });
     }
 
     @PostMapping("/skills")
     public ResponseEntity<?> addUserSkill(@Valid @RequestBody UserSkill userSkill) {
         try {
-            System.out.println("======= DEBUG: ADD USER SKILL =======");
-            System.out.println("Received skill object: " + userSkill);
-            System.out.println("Skill ID: " + userSkill.getSkillId() + " (Type: " + (userSkill.getSkillId() != null ? userSkill.getSkillId().getClass().getName() : "null") + ")");
-            System.out.println("Proficiency: " + userSkill.getProficiency());
-            System.out.println("Years Experience: " + userSkill.getYearsExperience());
-            System.out.println("======================================");
-            
             String username = SecurityContextHolder.getContext().getAuthentication().getName();
             User user = userRepository.findByUsername(username).orElse(null);
             if (user == null) {
@@ -260,7 +375,6 @@ public class ProfileController {
             
             // Ensure all required fields are present
             if (userSkill.getSkillId() == null) {
-                System.out.println("ERROR: Skill ID is null");
                 return ResponseEntity.badRequest().body("Skill ID is required");
             }
             
@@ -276,12 +390,23 @@ public class ProfileController {
             }
             
             UserSkill savedSkill = userSkillRepository.save(userSkill);
-            System.out.println("Saved skill with ID: " + savedSkill.getId());
+            eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SKILLS));
+            logger.atDebug()
+                    .setMessage("User skill added")
+                    .addKeyValue("username", username)
+                    .addKeyValue("userId", user.getId())
+                    .addKeyValue("skillId", savedSkill.getSkillId())
+                    .addKeyValue("userSkillId", savedSkill.getId())
+                    .addKeyValue("proficiency", savedSkill.getProficiency())
+                    .log();
             
             return ResponseEntity.ok("Skill added");
         } catch (Exception e) {
-            System.err.println("Error adding skill: " + e.getMessage());
-            e.printStackTrace();
+            logger.atError()
+                    .setCause(e)
+                    .setMessage("Error adding skill")
+                    .addKeyValue("skillId", userSkill.getSkillId())
+                    .log();
             return ResponseEntity.status(500).body("Error adding skill: " + e.getMessage());
         }
     }
@@ -300,19 +425,26 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Skill not found or unauthorized");
         }
         userSkillRepository.delete(userSkill);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SKILLS));
         return ResponseEntity.ok("Skill deleted");
     }
 
     // Education
     @GetMapping("/education")
-    public ResponseEntity<?> getEducation() {
+    public ResponseEntity<?> getEducation(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "education");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        List<Education> education = educationRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(education);
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<Education> education = educationRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
+            return okWithEtag(etag, education);
+        });
     }
 
     @PostMapping("/education")
@@ -326,6 +458,7 @@ public class ProfileController {
         education.setCreatedAt(LocalDateTime.now());
         education.setUpdatedAt(LocalDateTime.now());
         educationRepository.save(education);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EDUCATION));
         return ResponseEntity.ok("Education added");
     }
 
@@ -353,6 +486,7 @@ public class ProfileController {
         existingEducation.setDisplayOrder(education.getDisplayOrder());
         existingEducation.setUpdatedAt(LocalDateTime.now());
         educationRepository.save(existingEducation);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EDUCATION));
         return ResponseEntity.ok("Education updated");
     }
 
@@ -370,19 +504,26 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Education not found or unauthorized");
         }
         educationRepository.delete(education);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EDUCATION));
         return ResponseEntity.ok("Education deleted");
     }
 
     // Work Experience
     @GetMapping("/experience")
-    public ResponseEntity<?> getWorkExperience() {
+    public ResponseEntity<?> getWorkExperience(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "experience");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        List<WorkExperience> experience = workExperienceRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(experience);
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<WorkExperience> experience = workExperienceRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
+            return okWithEtag(etag, experience);
+        });
     }
 
     @PostMapping("/experience")
@@ -396,6 +537,7 @@ public class ProfileController {
         experience.setCreatedAt(LocalDateTime.now());
         experience.setUpdatedAt(LocalDateTime.now());
         workExperienceRepository.save(experience);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EXPERIENCE));
         return ResponseEntity.ok("Work experience added");
     }
 
@@ -422,6 +564,7 @@ public class ProfileController {
         existingExperience.setDisplayOrder(experience.getDisplayOrder());
         existingExperience.setUpdatedAt(LocalDateTime.now());
         workExperienceRepository.save(existingExperience);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EXPERIENCE));
         return ResponseEntity.ok("Work experience updated");
     }
 
@@ -439,19 +582,26 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Work experience not found or unauthorized");
         }
         workExperienceRepository.delete(experience);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.EXPERIENCE));
         return ResponseEntity.ok("Work experience deleted");
     }
 
     // Social Links
     @GetMapping("/social-links")
-    public ResponseEntity<?> getSocialLinks() {
+    public ResponseEntity<?> getSocialLinks(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "social-links");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        List<SocialLink> socialLinks = socialLinkRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(socialLinks);
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<SocialLink> socialLinks = socialLinkRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
+            return okWithEtag(etag, socialLinks);
+        });
     }
 
     @PostMapping("/social-links")
@@ -463,6 +613,7 @@ public class ProfileController {
         }
         socialLink.setUserId(user.getId());
         socialLinkRepository.save(socialLink);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SOCIAL_LINKS));
         return ResponseEntity.ok("Social link added");
     }
 
@@ -485,6 +636,7 @@ public class ProfileController {
         existingSocialLink.setIsVisible(socialLink.getIsVisible());
         existingSocialLink.setIcon(socialLink.getIcon());
         socialLinkRepository.save(existingSocialLink);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SOCIAL_LINKS));
         return ResponseEntity.ok("Social link updated");
     }
 
@@ -502,19 +654,26 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Social link not found or unauthorized");
         }
         socialLinkRepository.delete(socialLink);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SOCIAL_LINKS));
         return ResponseEntity.ok("Social link deleted");
     }
 
     // Portfolio Sections
     @GetMapping("/sections")
-    public ResponseEntity<?> getPortfolioSections() {
+    public ResponseEntity<?> getPortfolioSections(WebRequest webRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
+        String etag = etagFor(username, "sections");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        List<PortfolioSection> sections = portfolioSectionRepository.findByUserId(user.getId());
-        return ResponseEntity.ok(sections);
+        return replicaReads.read(username, () -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(404).body("User not found");
+            }
+            List<PortfolioSection> sections = portfolioSectionRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
+            return okWithEtag(etag, sections);
+        });
     }
 
     @PostMapping("/sections")
@@ -526,6 +685,7 @@ public class ProfileController {
         }
         section.setUserId(user.getId());
         portfolioSectionRepository.save(section);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SECTIONS));
         return ResponseEntity.ok("Portfolio section added");
     }
 
@@ -549,6 +709,7 @@ public class ProfileController {
         existingSection.setDisplayOrder(section.getDisplayOrder());
         existingSection.setCustomContent(section.getCustomContent());
         portfolioSectionRepository.save(existingSection);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SECTIONS));
         return ResponseEntity.ok("Portfolio section updated");
     }
 
@@ -566,9 +727,47 @@ public class ProfileController {
             return ResponseEntity.status(404).body("Portfolio section not found or unauthorized");
         }
         portfolioSectionRepository.delete(section);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(username, Section.SECTIONS));
         return ResponseEntity.ok("Portfolio section deleted");
     }
 
+    // Login Sessions
+    @GetMapping("/sessions")
+    public ResponseEntity<?> getSessions() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User user = userRepository.findByUsername(auth.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        String currentTokenId = auth.getPrincipal() instanceof AuthenticatedUser principal ? principal.tokenId() : null;
+
+        List<Map<String, Object>> sessions = new ArrayList<>();
+        for (UserSession session : sessionRegistry.findSessions(user.getId())) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", session.getId());
+            entry.put("ip_address", session.getIpAddress());
+            entry.put("user_agent", session.getUserAgent());
+            entry.put("last_activity", session.getLastActivity());
+            entry.put("expires_at", session.getExpiresAt());
+            entry.put("current", session.getToken().equals(currentTokenId));
+            sessions.add(entry);
+        }
+        return ResponseEntity.ok(sessions);
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    public ResponseEntity<?> revokeSession(@PathVariable Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        if (!sessionRegistry.revoke(id, user.getId())) {
+            return ResponseEntity.status(404).body("Session not found or unauthorized");
+        }
+        return ResponseEntity.ok("Session revoked");
+    }
+
     static class UpdateProfileRequest {
         private String firstName;
         private String lastName;
@@ -1,64 +1,106 @@
 package com.example.portfoliobackend.controller;
 
+import com.example.portfoliobackend.dto.KeysetPage;
+import com.example.portfoliobackend.dto.PublicEducation;
+import com.example.portfoliobackend.dto.PublicExperience;
+import com.example.portfoliobackend.dto.PublicProject;
+import com.example.portfoliobackend.dto.UserSkillDetail;
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
 import com.example.portfoliobackend.model.*;
 import com.example.portfoliobackend.repository.*;
+import com.example.portfoliobackend.service.PortfolioCache;
+import com.example.portfoliobackend.service.PortfolioVersionService;
+import com.example.portfoliobackend.service.ReplicaReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/portfolios")
 public class PublicPortfolioController {
 
+    private static final Logger logger = LoggerFactory.getLogger(PublicPortfolioController.class);
+
     private final UserRepository userRepository;
     private final PortfolioSettingsRepository portfolioSettingsRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectMediaRepository projectMediaRepository;
     private final UserSkillRepository userSkillRepository;
     private final EducationRepository educationRepository;
     private final WorkExperienceRepository workExperienceRepository;
     private final SocialLinkRepository socialLinkRepository;
     private final PortfolioSectionRepository portfolioSectionRepository;
-    private final SkillRepository skillRepository;
+    private final TaskExecutor portfolioLoaderExecutor;
+    private final PortfolioCache portfolioCache;
+    private final PortfolioVersionService portfolioVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaReads replicaReads;
 
     public PublicPortfolioController(UserRepository userRepository,
                               PortfolioSettingsRepository portfolioSettingsRepository,
                               ProjectRepository projectRepository,
+                              ProjectMediaRepository projectMediaRepository,
                               UserSkillRepository userSkillRepository,
                               EducationRepository educationRepository,
                               WorkExperienceRepository workExperienceRepository,
                               SocialLinkRepository socialLinkRepository,
                               PortfolioSectionRepository portfolioSectionRepository,
-                              SkillRepository skillRepository) {
+                              @Qualifier("portfolioLoaderExecutor") TaskExecutor portfolioLoaderExecutor,
+                              PortfolioCache portfolioCache,
+                              PortfolioVersionService portfolioVersions,
+                              ApplicationEventPublisher eventPublisher,
+                              ReplicaReads replicaReads) {
         this.userRepository = userRepository;
         this.portfolioSettingsRepository = portfolioSettingsRepository;
         this.projectRepository = projectRepository;
+        this.projectMediaRepository = projectMediaRepository;
         this.userSkillRepository = userSkillRepository;
         this.educationRepository = educationRepository;
         this.workExperienceRepository = workExperienceRepository;
         this.socialLinkRepository = socialLinkRepository;
         this.portfolioSectionRepository = portfolioSectionRepository;
-        this.skillRepository = skillRepository;
+        this.portfolioLoaderExecutor = portfolioLoaderExecutor;
+        this.portfolioCache = portfolioCache;
+        this.portfolioVersions = portfolioVersions;
+        this.eventPublisher = eventPublisher;
+        this.replicaReads = replicaReads;
     }
     
     // Helper method to check if portfolio is public
     private boolean isPortfolioPublic(Long userId) {
         PortfolioSettings settings = portfolioSettingsRepository.findByUserId(userId).orElse(null);
-        // Debug logging
-        System.out.println("DEBUG - isPortfolioPublic check for userId: " + userId);
-        System.out.println("DEBUG - PortfolioSettings found: " + (settings != null));
-        if (settings != null) {
-            System.out.println("DEBUG - settings.getIsPublic() value: " + settings.getIsPublic());
-        }
-        
-        // If settings don't exist or isPublic is null, assume it's private
-        // If isPublic is explicitly set to true, then it's public
+        logger.atTrace()
+                .setMessage("Portfolio visibility checked")
+                .addKeyValue("userId", userId)
+                .addKeyValue("hasSettings", settings != null)
+                .addKeyValue("isPublic", () -> settings != null ? settings.getIsPublic() : null)
+                .log();
+        return isPublic(settings);
+    }
+
+    // If settings don't exist or isPublic is null, assume it's private
+    // If isPublic is explicitly set to true, then it's public
+    private boolean isPublic(PortfolioSettings settings) {
         return settings != null && settings.getIsPublic() != null && settings.getIsPublic();
     }
     
@@ -76,74 +118,178 @@ public class PublicPortfolioController {
         return null; // No error
     }
 
+    // Answer conditional requests from the user's version before touching the cache or the section tables
+    private ResponseEntity<byte[]> respond(String username, PortfolioCache.Section section, WebRequest webRequest,
+                                           Supplier<ResponseEntity<?>> loader) {
+        long version = portfolioVersions.currentVersion(username);
+        String etag = PortfolioVersionService.etag(version, section.name().toLowerCase(Locale.ROOT));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // The full view runs its own reads on the loader pool, so the request thread doesn't hold a connection while it waits
+        Supplier<ResponseEntity<?>> reader = section == PortfolioCache.Section.FULL
+                ? loader
+                : () -> replicaReads.read(username, loader);
+        return portfolioCache.get(username, section, version, reader)
+                .toResponse(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), etag);
+    }
+
+    // Keyset pages are not kept in PortfolioCache; their ETags follow the same per-user version as the cached views
+    private ResponseEntity<?> respondPage(String username, String representation, String after, Integer limit,
+                                          WebRequest webRequest,
+                                          BiFunction<KeysetPage.Cursor, Integer, ResponseEntity<?>> loader) {
+        int pageSize = limit != null ? limit : KeysetPage.DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > KeysetPage.MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + KeysetPage.MAX_LIMIT);
+        }
+        KeysetPage.Cursor cursor;
+        try {
+            cursor = after != null ? KeysetPage.Cursor.parse(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        String etag = portfolioVersions.etag(username,
+                representation + "-" + (cursor != null ? cursor : "first") + "-" + pageSize);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity<?> response = replicaReads.read(username, () -> loader.apply(cursor, pageSize));
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(response.getBody());
+    }
+
     // Get public profile by username
     @GetMapping("/{username}")
-    public ResponseEntity<?> getPublicProfile(@PathVariable String username) {
-        System.out.println("DEBUG - getPublicProfile called for username: " + username);
-        
+    public ResponseEntity<byte[]> getPublicProfile(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.PROFILE, webRequest, () -> loadPublicProfile(username));
+    }
+
+    private ResponseEntity<?> loadPublicProfile(String username) {
+        long start = System.nanoTime();
         User user = userRepository.findByUsername(username).orElse(null);
         if (user == null) {
-            System.out.println("DEBUG - User not found: " + username);
+            logger.atDebug()
+                    .setMessage("Public profile not found")
+                    .addKeyValue("username", username)
+                    .log();
             return ResponseEntity.status(404).body("User not found");
         }
-        
-        System.out.println("DEBUG - User found with ID: " + user.getId());
 
         // Check if portfolio is public
-        boolean isPublic = isPortfolioPublic(user.getId());
-        System.out.println("DEBUG - Portfolio is public: " + isPublic);
-        
-        if (!isPublic) {
+        if (!isPortfolioPublic(user.getId())) {
+            logger.atDebug()
+                    .setMessage("Public profile is private")
+                    .addKeyValue("username", username)
+                    .addKeyValue("userId", user.getId())
+                    .log();
             return ResponseEntity.status(403).body("This portfolio is private");
         }
         
         // Get portfolio settings
         PortfolioSettings settings = portfolioSettingsRepository.findByUserId(user.getId()).orElse(null);
         
-        // Create a custom response map with snake_case keys to match frontend expectations
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("username", user.getUsername());
-        response.put("first_name", user.getFirstName());
-        response.put("last_name", user.getLastName());
-        response.put("bio", user.getBio());
-        response.put("profile_image", user.getProfileImage());
-        response.put("job_title", user.getJobTitle());
-        response.put("location", user.getLocation());
-        response.put("cv_url", user.getCvUrl());
-        
-        // Include portfolio settings
-        Map<String, Object> settingsMap = new HashMap<>();
-        if (settings != null) {
-            settingsMap.put("theme", settings.getTheme());
-            settingsMap.put("layout", settings.getLayout());
-            settingsMap.put("color_primary", settings.getColorPrimary());
-            settingsMap.put("color_secondary", settings.getColorSecondary());
-            settingsMap.put("font_family", settings.getFontFamily());
-        }
-        response.put("settings", settingsMap);
-        
-        System.out.println("DEBUG - Successfully prepared response for username: " + username);
-        
+        Map<String, Object> response = buildProfileResponse(user, settings);
+        logger.atDebug()
+                .setMessage("Public profile loaded")
+                .addKeyValue("username", username)
+                .addKeyValue("userId", user.getId())
+                .addKeyValue("latencyMs", () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log();
         return ResponseEntity.ok(response);
     }
 
-    // Get public projects by username
+    // Get public projects by username; with ?limit= and/or ?after= it returns keyset pages instead of the whole list
     @GetMapping("/{username}/projects")
-    public ResponseEntity<?> getPublicProjects(@PathVariable String username) {
+    public ResponseEntity<?> getPublicProjects(@PathVariable String username,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit,
+                                               WebRequest webRequest) {
+        if (after == null && limit == null) {
+            return respond(username, PortfolioCache.Section.PROJECTS, webRequest, () -> loadPublicProjects(username));
+        }
+        return respondPage(username, "projects", after, limit, webRequest,
+                (cursor, pageSize) -> loadPublicProjectPage(username, cursor, pageSize));
+    }
+
+    private ResponseEntity<?> loadPublicProjects(String username) {
         ResponseEntity<?> validationResult = validateUserAndPortfolio(username);
         if (validationResult != null) {
             return validationResult;
         }
         
         User user = userRepository.findByUsername(username).orElse(null);
-        List<Project> projects = projectRepository.findByUserId(user.getId());
+        List<PublicProject> projects = projectRepository.findPublicByUserId(user.getId());
         return ResponseEntity.ok(projects);
     }
 
+    private ResponseEntity<?> loadPublicProjectPage(String username, KeysetPage.Cursor after, int limit) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        if (!isPortfolioPublic(user.getId())) {
+            return ResponseEntity.status(403).body("This portfolio is private");
+        }
+
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<PublicProject> projects = after == null
+                ? projectRepository.findPublicByUserId(user.getId(), page)
+                : projectRepository.findPublicByUserIdAfter(user.getId(), after.displayOrder(), after.id(), page);
+        return ResponseEntity.ok(KeysetPage.of(projects, limit,
+                project -> new KeysetPage.Cursor(project.getDisplayOrder(), project.getId())));
+    }
+
+    // Get the media of one public project in keyset pages; media still being processed is left out
+    @GetMapping("/{username}/projects/{projectId}/media")
+    public ResponseEntity<?> getPublicProjectMedia(@PathVariable String username,
+                                                   @PathVariable Long projectId,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   WebRequest webRequest) {
+        return respondPage(username, "media-" + projectId, after, limit, webRequest,
+                (cursor, pageSize) -> loadPublicProjectMediaPage(username, projectId, cursor, pageSize));
+    }
+
+    private ResponseEntity<?> loadPublicProjectMediaPage(String username, Long projectId, KeysetPage.Cursor after,
+                                                         int limit) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        if (!isPortfolioPublic(user.getId())) {
+            return ResponseEntity.status(403).body("This portfolio is private");
+        }
+        boolean ownProject = projectRepository.findById(projectId)
+                .filter(project -> project.getUserId().equals(user.getId()))
+                .isPresent();
+        if (!ownProject) {
+            return ResponseEntity.status(404).body("Project not found");
+        }
+
+        // Media still being processed is held back. Failed media is listed too: its original upload is stored and
+        // servable, only the derivatives are missing, and processing_status tells clients not to ask for ?w=
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<ProjectMedia> media = after == null
+                ? projectMediaRepository.findByProjectIdAndProcessingStatusNotOrderByDisplayOrderAscIdAsc(
+                        projectId, ProjectMedia.ProcessingStatus.pending, page)
+                : projectMediaRepository.findByProjectIdAndProcessingStatusNotAfter(
+                        projectId, ProjectMedia.ProcessingStatus.pending, after.displayOrder(), after.id(), page);
+        return ResponseEntity.ok(KeysetPage.of(media, limit,
+                item -> new KeysetPage.Cursor(item.getDisplayOrder(), item.getId())));
+    }
+
     // Get public skills by username
     @GetMapping("/{username}/skills")
-    public ResponseEntity<?> getPublicSkills(@PathVariable String username) {
+    public ResponseEntity<byte[]> getPublicSkills(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.SKILLS, webRequest, () -> loadPublicSkills(username));
+    }
+
+    private ResponseEntity<?> loadPublicSkills(String username) {
         Optional<User> userOptional = userRepository.findByUsername(username);
         if (userOptional.isEmpty()) {
             return ResponseEntity.status(404).body("User not found");
@@ -152,82 +298,168 @@ public class PublicPortfolioController {
         if (!isPortfolioPublic(user.getId())) {
             return ResponseEntity.status(403).body("User profile is not public");
         }
-        List<UserSkill> userSkills = userSkillRepository.findByUserId(user.getId());
-        // Fetch skill details for each user skill
-        List<Map<String, Object>> skillsWithDetails = new ArrayList<>();
-        for (UserSkill userSkill : userSkills) {
-            Optional<Skill> skill = skillRepository.findById(userSkill.getSkillId());
-            if (skill.isPresent()) {
-                Map<String, Object> skillData = new HashMap<>();
-                skillData.put("id", userSkill.getId());
-                skillData.put("skillId", userSkill.getSkillId());
-                skillData.put("skillName", skill.get().getName());
-                skillData.put("category", skill.get().getCategory());
-                skillData.put("proficiency", userSkill.getProficiency());
-                skillData.put("yearsExperience", userSkill.getYearsExperience());
-                skillsWithDetails.add(skillData);
-            }
-        }
+        List<UserSkillDetail> skillsWithDetails = buildSkillList(user.getId());
         return ResponseEntity.ok(skillsWithDetails);
     }
 
     // Get public education by username
     @GetMapping("/{username}/education")
-    public ResponseEntity<?> getPublicEducation(@PathVariable String username) {
+    public ResponseEntity<byte[]> getPublicEducation(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.EDUCATION, webRequest, () -> loadPublicEducation(username));
+    }
+
+    private ResponseEntity<?> loadPublicEducation(String username) {
         ResponseEntity<?> validationResult = validateUserAndPortfolio(username);
         if (validationResult != null) {
             return validationResult;
         }
         
         User user = userRepository.findByUsername(username).orElse(null);
-        List<Education> education = educationRepository.findByUserId(user.getId());
+        List<PublicEducation> education = educationRepository.findPublicByUserId(user.getId());
         return ResponseEntity.ok(education);
     }
 
     // Get public work experience by username
     @GetMapping("/{username}/experience")
-    public ResponseEntity<?> getPublicExperience(@PathVariable String username) {
+    public ResponseEntity<byte[]> getPublicExperience(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.EXPERIENCE, webRequest, () -> loadPublicExperience(username));
+    }
+
+    private ResponseEntity<?> loadPublicExperience(String username) {
         ResponseEntity<?> validationResult = validateUserAndPortfolio(username);
         if (validationResult != null) {
             return validationResult;
         }
         
         User user = userRepository.findByUsername(username).orElse(null);
-        List<WorkExperience> experience = workExperienceRepository.findByUserId(user.getId());
+        List<PublicExperience> experience = workExperienceRepository.findPublicByUserId(user.getId());
         return ResponseEntity.ok(experience);
     }
 
     // Get public social links by username
     @GetMapping("/{username}/social-links")
-    public ResponseEntity<?> getPublicSocialLinks(@PathVariable String username) {
+    public ResponseEntity<byte[]> getPublicSocialLinks(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.SOCIAL_LINKS, webRequest, () -> loadPublicSocialLinks(username));
+    }
+
+    private ResponseEntity<?> loadPublicSocialLinks(String username) {
         ResponseEntity<?> validationResult = validateUserAndPortfolio(username);
         if (validationResult != null) {
             return validationResult;
         }
         
         User user = userRepository.findByUsername(username).orElse(null);
-        List<SocialLink> socialLinks = socialLinkRepository.findByUserId(user.getId());
+        List<SocialLink> socialLinks = socialLinkRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
         return ResponseEntity.ok(socialLinks);
     }
 
     // Get public portfolio sections by username
     @GetMapping("/{username}/sections")
-    public ResponseEntity<?> getPublicPortfolioSections(@PathVariable String username) {
+    public ResponseEntity<byte[]> getPublicPortfolioSections(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.SECTIONS, webRequest, () -> loadPublicPortfolioSections(username));
+    }
+
+    private ResponseEntity<?> loadPublicPortfolioSections(String username) {
         ResponseEntity<?> validationResult = validateUserAndPortfolio(username);
         if (validationResult != null) {
             return validationResult;
         }
         
         User user = userRepository.findByUsername(username).orElse(null);
-        List<PortfolioSection> sections = portfolioSectionRepository.findByUserId(user.getId());
+        List<PortfolioSection> sections = portfolioSectionRepository.findByUserIdOrderByDisplayOrderAscIdAsc(user.getId());
         return ResponseEntity.ok(sections);
     }
 
+    // Create a custom response map with snake_case keys to match frontend expectations
+    private Map<String, Object> buildProfileResponse(User user, PortfolioSettings settings) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", user.getId());
+        response.put("username", user.getUsername());
+        response.put("first_name", user.getFirstName());
+        response.put("last_name", user.getLastName());
+        response.put("bio", user.getBio());
+        response.put("profile_image", user.getProfileImage());
+        response.put("job_title", user.getJobTitle());
+        response.put("location", user.getLocation());
+        response.put("cv_url", user.getCvUrl());
+
+        // Include portfolio settings
+        Map<String, Object> settingsMap = new HashMap<>();
+        if (settings != null) {
+            settingsMap.put("theme", settings.getTheme());
+            settingsMap.put("layout", settings.getLayout());
+            settingsMap.put("color_primary", settings.getColorPrimary());
+            settingsMap.put("color_secondary", settings.getColorSecondary());
+            settingsMap.put("font_family", settings.getFontFamily());
+        }
+        response.put("settings", settingsMap);
+        return response;
+    }
+
+    private List<UserSkillDetail> buildSkillList(Long userId) {
+        return userSkillRepository.findDetailsByUserId(userId);
+    }
+
+    // Run an independent section load on the loader pool, in its own read transaction
+    private <T> CompletableFuture<T> loadAsync(String username, Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> replicaReads.read(username, loader), portfolioLoaderExecutor);
+    }
+
+    // Get the whole public portfolio in a single round trip
+    @GetMapping("/{username}/full")
+    public ResponseEntity<byte[]> getFullPortfolio(@PathVariable String username, WebRequest webRequest) {
+        return respond(username, PortfolioCache.Section.FULL, webRequest, () -> loadFullPortfolio(username));
+    }
+
+    private ResponseEntity<?> loadFullPortfolio(String username) {
+        User user = replicaReads.read(username, () -> userRepository.findByUsername(username)).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+
+        // Settings are needed both for the visibility check and the profile block, so load them once
+        PortfolioSettings settings = replicaReads.read(username,
+                () -> portfolioSettingsRepository.findByUserId(user.getId())).orElse(null);
+        if (!isPublic(settings)) {
+            return ResponseEntity.status(403).body("This portfolio is private");
+        }
+
+        Long userId = user.getId();
+        CompletableFuture<List<PublicProject>> projects = loadAsync(username,
+                () -> projectRepository.findPublicByUserId(userId));
+        CompletableFuture<List<UserSkillDetail>> skills = loadAsync(username, () -> buildSkillList(userId));
+        CompletableFuture<List<PublicEducation>> education = loadAsync(username,
+                () -> educationRepository.findPublicByUserId(userId));
+        CompletableFuture<List<PublicExperience>> experience = loadAsync(username,
+                () -> workExperienceRepository.findPublicByUserId(userId));
+        CompletableFuture<List<SocialLink>> socialLinks = loadAsync(username,
+                () -> socialLinkRepository.findByUserIdOrderByDisplayOrderAscIdAsc(userId));
+        CompletableFuture<List<PortfolioSection>> sections = loadAsync(username,
+                () -> portfolioSectionRepository.findByUserIdOrderByDisplayOrderAscIdAsc(userId));
+        CompletableFuture.allOf(projects, skills, education, experience, socialLinks, sections).join();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("profile", buildProfileResponse(user, settings));
+        response.put("projects", projects.join());
+        response.put("skills", skills.join());
+        response.put("education", education.join());
+        response.put("experience", experience.join());
+        response.put("social_links", socialLinks.join());
+        response.put("sections", sections.join());
+        return ResponseEntity.ok(response);
+    }
+
+    // Debug endpoint to inspect public portfolio cache counters
+    @GetMapping("/debug/cache-stats")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(portfolioCache.stats());
+    }
+
     // Debug endpoint to check all users and their portfolio settings
     @GetMapping("/debug/check-all-users")
     public ResponseEntity<?> checkAllUsers() {
         List<User> allUsers = userRepository.findAll();
-        System.out.println("DEBUG - Total users in system: " + allUsers.size());
+        logger.debug("Checking portfolio settings of {} users", allUsers.size());
         
         List<Map<String, Object>> results = allUsers.stream().map(user -> {
             Map<String, Object> userInfo = new HashMap<>();
@@ -276,6 +508,7 @@ public class PublicPortfolioController {
         settings.setUpdatedAt(LocalDateTime.now());
         
         portfolioSettingsRepository.save(settings);
+        eventPublisher.publishEvent(PortfolioChangedEvent.all(user.getUsername()));
         
         return ResponseEntity.ok(Map.of(
             "message", created ? "Created new settings" : "Updated existing settings",
@@ -291,7 +524,6 @@ public class PublicPortfolioController {
     public ResponseEntity<?> fixAllPortfolioSettings() {
         try {
             List<PortfolioSettings> allSettings = portfolioSettingsRepository.findAll();
-            System.out.println("DEBUG - Total portfolio settings: " + allSettings.size());
             
             int updatedCount = 0;
             for (PortfolioSettings settings : allSettings) {
@@ -299,7 +531,13 @@ public class PublicPortfolioController {
                     settings.setIsPublic(true);
                     portfolioSettingsRepository.save(settings);
                     updatedCount++;
-                    System.out.println("DEBUG - Updated settings for user ID: " + settings.getUserId());
+                    logger.atInfo()
+                            .setMessage("Made portfolio public")
+                            .addKeyValue("userId", settings.getUserId())
+                            .log();
+                    // Bumps that user's portfolio version, so ETags and cached sections change on every instance
+                    userRepository.findById(settings.getUserId()).ifPresent(user ->
+                            eventPublisher.publishEvent(PortfolioChangedEvent.all(user.getUsername())));
                 }
             }
             
@@ -309,7 +547,7 @@ public class PublicPortfolioController {
                 "total_settings", allSettings.size()
             ));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to update portfolio settings", e);
             return ResponseEntity.status(500).body("Error updating settings: " + e.getMessage());
         }
     }
@@ -323,8 +561,6 @@ public class PublicPortfolioController {
                 return ResponseEntity.status(404).body("User not found: " + username);
             }
             
-            System.out.println("DEBUG - Found user: " + username + " with ID: " + user.getId());
-            
             // Get existing settings or create new ones
             PortfolioSettings settings = portfolioSettingsRepository.findByUserId(user.getId()).orElse(null);
             
@@ -337,19 +573,20 @@ public class PublicPortfolioController {
                 settings.setColorPrimary("#007bff");
                 settings.setColorSecondary("#6c757d");
                 settings.setFontFamily("Roboto, sans-serif");
-                System.out.println("DEBUG - Created new settings for user ID: " + user.getId());
-            } else {
-                System.out.println("DEBUG - Found existing settings for user ID: " + user.getId());
-                System.out.println("DEBUG - Current isPublic value: " + settings.getIsPublic());
             }
             
             // Explicitly set isPublic to true
             settings.setIsPublic(true);
             settings.setUpdatedAt(LocalDateTime.now());
             PortfolioSettings savedSettings = portfolioSettingsRepository.save(settings);
+            eventPublisher.publishEvent(PortfolioChangedEvent.all(user.getUsername()));
             
-            System.out.println("DEBUG - Saved settings with ID: " + savedSettings.getId());
-            System.out.println("DEBUG - New isPublic value: " + savedSettings.getIsPublic());
+            logger.atInfo()
+                    .setMessage("Made portfolio public")
+                    .addKeyValue("username", username)
+                    .addKeyValue("userId", user.getId())
+                    .addKeyValue("settingsId", savedSettings.getId())
+                    .log();
             
             return ResponseEntity.ok(Map.of(
                 "message", "Successfully updated portfolio settings",
@@ -359,7 +596,11 @@ public class PublicPortfolioController {
                 "is_public", savedSettings.getIsPublic()
             ));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.atError()
+                    .setCause(e)
+                    .setMessage("Failed to fix portfolio settings")
+                    .addKeyValue("username", username)
+                    .log();
             return ResponseEntity.status(500).body("Error: " + e.getMessage());
         }
     }
@@ -2,6 +2,9 @@ package com.example.portfoliobackend.controller;
 
 import com.example.portfoliobackend.model.Skill;
 import com.example.portfoliobackend.repository.SkillRepository;
+import com.example.portfoliobackend.service.ReplicaReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,23 +15,29 @@ import java.util.Optional;
 @RequestMapping("/api/skills")
 public class SkillController {
 
+    private static final Logger logger = LoggerFactory.getLogger(SkillController.class);
+
     private final SkillRepository skillRepository;
+    private final ReplicaReads replicaReads;
 
-    public SkillController(SkillRepository skillRepository) {
+    public SkillController(SkillRepository skillRepository, ReplicaReads replicaReads) {
         this.skillRepository = skillRepository;
+        this.replicaReads = replicaReads;
     }
 
     @GetMapping
     public ResponseEntity<List<Skill>> getAllSkills() {
-        System.out.println("Getting all skills");
-        List<Skill> skills = skillRepository.findAll();
-        System.out.println("Found " + skills.size() + " skills");
+        List<Skill> skills = replicaReads.read(skillRepository::findAll);
+        logger.atDebug()
+                .setMessage("Loaded skill catalogue")
+                .addKeyValue("count", skills.size())
+                .log();
         return ResponseEntity.ok(skills);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<?> getSkillById(@PathVariable Long id) {
-        Optional<Skill> skill = skillRepository.findById(id);
+        Optional<Skill> skill = replicaReads.read(() -> skillRepository.findById(id));
         if (skill.isPresent()) {
             return ResponseEntity.ok(skill.get());
         } else {
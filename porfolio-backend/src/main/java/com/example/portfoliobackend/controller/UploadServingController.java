@@ -0,0 +1,203 @@
+package com.example.portfoliobackend.controller;
+
+import com.example.portfoliobackend.service.FileStorageService;
+import com.example.portfoliobackend.service.HotFileCache;
+import com.example.portfoliobackend.service.ImageDerivativeService;
+import com.example.portfoliobackend.service.PortfolioSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves /uploads/** directly: conditional requests, single byte ranges for video seeking,
+ * long-lived immutable caching for content-addressed names, and Tomcat sendfile for large bodies so they are
+ * not copied through the heap. Small bodies, and connectors without sendfile, are streamed through a buffer.
+ */
+@RestController
+public class UploadServingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadServingController.class);
+    private static final int MAX_WIDTH = 4096;
+    // Below this size a plain write is cheaper than setting up sendfile
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl LEGACY = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
+    private final FileStorageService fileStorageService;
+    private final ImageDerivativeService imageDerivatives;
+    private final HotFileCache hotFiles;
+
+    public UploadServingController(FileStorageService fileStorageService, ImageDerivativeService imageDerivatives,
+                                   HotFileCache hotFiles) {
+        this.fileStorageService = fileStorageService;
+        this.imageDerivatives = imageDerivatives;
+        this.hotFiles = hotFiles;
+    }
+
+    @GetMapping("/uploads/{filename:.+}")
+    public void getFile(@PathVariable String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = fileStorageService.load(filename);
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(file, filename, "", request, response);
+    }
+
+    // /uploads/{file}?w=320 serves the closest pre-sized derivative
+    @GetMapping(value = "/uploads/{filename:.+}", params = "w")
+    public void getResized(@PathVariable String filename, @RequestParam("w") int width,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (width <= 0 || width > MAX_WIDTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        Path original = fileStorageService.load(filename);
+        if (!Files.isRegularFile(original)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file;
+        String variant;
+        try {
+            file = imageDerivatives.resolve(filename, original, width);
+            variant = file.equals(original) ? "" : "-w" + ImageDerivativeService.closestWidth(width);
+        } catch (RuntimeException e) {
+            // Same fallback as media whose processing failed: the original is still worth serving
+            logger.warn("Serving the original of {}: derivative generation failed", filename, e);
+            file = original;
+            variant = "";
+        }
+        serve(file, filename, variant, request, response);
+    }
+
+    private void serve(Path file, String filename, String variant, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        // Text-like uploads may have a .gz sibling written at store time; ranges always use the identity bytes
+        Path body = file;
+        if (FileStorageService.isCompressible(file.getFileName().toString())) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            Path gzipped = FileStorageService.gzipSibling(file);
+            if (request.getHeader(HttpHeaders.RANGE) == null
+                    && PortfolioSnapshot.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                    && Files.isRegularFile(gzipped)) {
+                body = gzipped;
+                variant += "-gz";
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(body, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        boolean contentAddressed = FileStorageService.isContentAddressed(filename);
+
+        // Content-addressed bytes never change, so the name is the validator; otherwise size + mtime
+        String etag = "\"" + (contentAddressed ? filename : Long.toHexString(size) + "-" + Long.toHexString(lastModified))
+                + variant + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, (contentAddressed ? IMMUTABLE : LEGACY).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(contentType.toString());
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range != null) {
+            if (size == 0 || range.getRangeStart(size) >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length <= 0) {
+            return;
+        }
+
+        if (range == null) {
+            byte[] cached = hotFiles.get(body, size, lastModified);
+            if (cached != null) {
+                response.getOutputStream().write(cached);
+                return;
+            }
+        }
+        if (length >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache to the socket once this handler returns
+            request.setAttribute(SENDFILE_FILENAME, body.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (InputStream in = Files.newInputStream(body)) {
+            StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+        }
+    }
+
+    // Honours a single Range (and If-Range); multi-range or malformed headers get the whole file
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        // If-Range holds either an ETag or a date; a stale validator means the client needs the whole file
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                return null;
+            }
+            try {
+                long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+                if (lastModified / 1000 > ifRangeDate / 1000) {
+                    return null;
+                }
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.portfoliobackend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered by (display_order, id). {@code next} is the cursor to send as {@code after}
+ * to get the following page, or null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String next) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Rows are fetched with limit + 1; the extra row only tells that there is a next page
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)).toString());
+    }
+
+    // Position after a row, written as "<display_order>.<id>"
+    public record Cursor(int displayOrder, long id) {
+
+        public static Cursor parse(String value) {
+            int dot = value.lastIndexOf('.');
+            try {
+                return new Cursor(Integer.parseInt(value.substring(0, dot)), Long.parseLong(value.substring(dot + 1)));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + value, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return displayOrder + "." + id;
+        }
+    }
+}
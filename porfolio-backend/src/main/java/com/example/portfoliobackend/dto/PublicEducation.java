@@ -0,0 +1,29 @@
+package com.example.portfoliobackend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of an education entry on the public portfolio, without the owner id and audit timestamps.
+ */
+public interface PublicEducation {
+
+    Long getId();
+
+    String getInstitution();
+
+    String getDegree();
+
+    String getFieldOfStudy();
+
+    String getDescription();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Boolean getCurrentlyStudying();
+
+    String getLocation();
+
+    Integer getDisplayOrder();
+}
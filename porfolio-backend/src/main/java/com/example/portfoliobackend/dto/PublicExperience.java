@@ -0,0 +1,27 @@
+package com.example.portfoliobackend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a work experience entry on the public portfolio, without the owner id and audit timestamps.
+ */
+public interface PublicExperience {
+
+    Long getId();
+
+    String getCompany();
+
+    String getPosition();
+
+    String getDescription();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Boolean getCurrentJob();
+
+    String getLocation();
+
+    Integer getDisplayOrder();
+}
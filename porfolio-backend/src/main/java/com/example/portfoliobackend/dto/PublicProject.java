@@ -0,0 +1,33 @@
+package com.example.portfoliobackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a project on the public portfolio. Leaves out the owner id and audit timestamps;
+ * the other JSON keys are the ones the Project entity serializes to.
+ */
+public interface PublicProject {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getThumbnail();
+
+    String getProjectUrl();
+
+    @JsonProperty("github_url")
+    String getGithubUrl();
+
+    Boolean getFeatured();
+
+    Integer getDisplayOrder();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,20 @@
+package com.example.portfoliobackend.dto;
+
+/**
+ * Flat read-only view of a user's skill joined with its skill catalogue entry.
+ * Getter names match the JSON keys the frontend already expects.
+ */
+public interface UserSkillDetail {
+
+    Long getId();
+
+    Long getSkillId();
+
+    String getSkillName();
+
+    String getCategory();
+
+    Integer getProficiency();
+
+    Float getYearsExperience();
+}
@@ -0,0 +1,38 @@
+package com.example.portfoliobackend.event;
+
+import com.example.portfoliobackend.service.PortfolioCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Published after a user's portfolio data has been written; moves the user to a new portfolio version,
+ * which retires their cached public views and ETags.
+ */
+public class PortfolioChangedEvent {
+
+    private final String username;
+    private final Set<PortfolioCache.Section> sections;
+
+    public PortfolioChangedEvent(String username, PortfolioCache.Section... sections) {
+        this.username = username;
+        this.sections = sections.length == 0
+                ? EnumSet.noneOf(PortfolioCache.Section.class)
+                : EnumSet.copyOf(Arrays.asList(sections));
+    }
+
+    // Changes that affect every section, e.g. visibility or a newly registered username
+    public static PortfolioChangedEvent all(String username) {
+        return new PortfolioChangedEvent(username, PortfolioCache.Section.values());
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Set<PortfolioCache.Section> getSections() {
+        return Collections.unmodifiableSet(sections);
+    }
+}
@@ -34,7 +34,7 @@ public class Project {
     @Column(columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean featured;
 
-    @Column(name = "display_order", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "display_order", columnDefinition = "INT NOT NULL DEFAULT 0")
     private Integer displayOrder;
 
     @Column(name = "start_date")
@@ -49,6 +49,15 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // display_order is NOT NULL since keyset pages are ordered by it; unset means first
+    @PrePersist
+    @PreUpdate
+    void defaultDisplayOrder() {
+        if (displayOrder == null) {
+            displayOrder = 0;
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -24,16 +24,34 @@ public class ProjectMedia {
 
     private String caption;
 
-    @Column(name = "display_order", columnDefinition = "INT DEFAULT 0")
+    @Column(name = "display_order", columnDefinition = "INT NOT NULL DEFAULT 0")
     private Integer displayOrder;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", nullable = false)
+    private ProcessingStatus processingStatus = ProcessingStatus.ready;
+
     public enum MediaType {
         image, video, document
     }
 
+    // Whether background processing of the media file (see MediaJob) has finished
+    public enum ProcessingStatus {
+        pending, ready, failed
+    }
+
+    // display_order is NOT NULL since keyset pages are ordered by it; unset means first
+    @PrePersist
+    @PreUpdate
+    void defaultDisplayOrder() {
+        if (displayOrder == null) {
+            displayOrder = 0;
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -49,4 +67,6 @@ public class ProjectMedia {
     public void setDisplayOrder(Integer displayOrder) { this.displayOrder = displayOrder; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public ProcessingStatus getProcessingStatus() { return processingStatus; }
+    public void setProcessingStatus(ProcessingStatus processingStatus) { this.processingStatus = processingStatus; }
 }
\ No newline at end of file
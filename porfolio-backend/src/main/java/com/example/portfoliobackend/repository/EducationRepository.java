@@ -1,10 +1,21 @@
 package com.example.portfoliobackend.repository;
 
+import com.example.portfoliobackend.dto.PublicEducation;
 import com.example.portfoliobackend.model.Education;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface EducationRepository extends JpaRepository<Education, Long> {
-    List<Education> findByUserId(Long userId);
+    // Display order, served by the (user_id, display_order) index
+    List<Education> findByUserIdOrderByDisplayOrderAscIdAsc(Long userId);
+
+    // Public view, without the owner id and audit columns
+    @Query("SELECT e.id AS id, e.institution AS institution, e.degree AS degree, e.fieldOfStudy AS fieldOfStudy, " +
+           "e.description AS description, e.startDate AS startDate, e.endDate AS endDate, " +
+           "e.currentlyStudying AS currentlyStudying, e.location AS location, e.displayOrder AS displayOrder " +
+           "FROM Education e WHERE e.userId = :userId ORDER BY e.displayOrder, e.id")
+    List<PublicEducation> findPublicByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.FileUpload;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface FileUploadRepository extends JpaRepository<FileUpload, Long> {
+
+    // SELECT ... FOR UPDATE: serializes reference count changes for the same content
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FileUpload f WHERE f.contentHash = :contentHash")
+    Optional<FileUpload> findByContentHashForUpdate(@Param("contentHash") String contentHash);
+}
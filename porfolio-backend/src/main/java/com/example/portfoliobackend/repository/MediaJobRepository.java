@@ -0,0 +1,74 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.MediaJob;
+import com.example.portfoliobackend.model.MediaJob.JobType;
+import com.example.portfoliobackend.model.MediaJob.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MediaJobRepository extends JpaRepository<MediaJob, Long> {
+
+    @Query("SELECT j.id FROM MediaJob j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional update: exactly one worker (across instances) wins the job
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :running, j.lockedBy = :worker, j.lockedAt = :now, " +
+           "j.attempts = j.attempts + 1, j.updatedAt = :now WHERE j.id = :id AND j.status = :pending")
+    int claim(@Param("id") Long id, @Param("worker") String worker, @Param("now") LocalDateTime now,
+              @Param("pending") Status pending, @Param("running") Status running);
+
+    // Only touches the outcome columns, so a media link added while the job ran is kept
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :status, j.lastError = :lastError, j.nextAttemptAt = :nextAttemptAt, " +
+           "j.lockedBy = NULL, j.lockedAt = NULL, j.updatedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") Status status, @Param("lastError") String lastError,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by a worker that died are handed out again, while they have attempts left
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :pending, j.lockedBy = NULL, j.lockedAt = NULL, j.nextAttemptAt = :now " +
+           "WHERE j.status = :running AND j.lockedAt < :staleBefore AND j.attempts < j.maxAttempts")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                     @Param("pending") Status pending, @Param("running") Status running);
+
+    // A job that keeps killing its worker must not be handed out forever
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :failed, j.lastError = :lastError, j.lockedBy = NULL, j.lockedAt = NULL, " +
+           "j.updatedAt = :now WHERE j.status = :running AND j.lockedAt < :staleBefore AND j.attempts >= j.maxAttempts")
+    int failStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                  @Param("lastError") String lastError,
+                  @Param("running") Status running, @Param("failed") Status failed);
+
+    @Query("SELECT DISTINCT j.mediaId FROM MediaJob j WHERE j.status = :running AND j.lockedAt < :staleBefore " +
+           "AND j.attempts >= j.maxAttempts AND j.mediaId IS NOT NULL")
+    List<Long> findExhaustedStaleMediaIds(@Param("staleBefore") LocalDateTime staleBefore,
+                                          @Param("running") Status running);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.mediaId = :mediaId " +
+           "WHERE j.storedFilename = :filename AND j.mediaId IS NULL AND j.status IN :statuses")
+    int linkToMedia(@Param("filename") String filename, @Param("mediaId") Long mediaId,
+                    @Param("statuses") Collection<Status> statuses);
+
+    boolean existsByStoredFilenameAndStatusIn(String storedFilename, Collection<Status> statuses);
+
+    boolean existsByStoredFilenameAndJobTypeAndStatusIn(String storedFilename, JobType jobType, Collection<Status> statuses);
+
+    long countByMediaIdAndStatusIn(Long mediaId, Collection<Status> statuses);
+
+    boolean existsByMediaIdAndStatus(Long mediaId, Status status);
+}
@@ -6,5 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface PortfolioSectionRepository extends JpaRepository<PortfolioSection, Long> {
-    List<PortfolioSection> findByUserId(Long userId);
+    // Display order, served by the (user_id, display_order) index
+    List<PortfolioSection> findByUserIdOrderByDisplayOrderAscIdAsc(Long userId);
 }
\ No newline at end of file
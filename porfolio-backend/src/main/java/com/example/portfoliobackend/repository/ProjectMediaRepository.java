@@ -1,10 +1,42 @@
 package com.example.portfoliobackend.repository;
 
 import com.example.portfoliobackend.model.ProjectMedia;
+import com.example.portfoliobackend.model.ProjectMedia.ProcessingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjectMediaRepository extends JpaRepository<ProjectMedia, Long> {
-    List<ProjectMedia> findByProjectId(Long projectId);
+    // Display order, served by the (project_id, display_order) index
+    List<ProjectMedia> findByProjectIdOrderByDisplayOrderAscIdAsc(Long projectId);
+
+    // Keyset pagination over media not in one processing status, like ProjectRepository
+    List<ProjectMedia> findByProjectIdAndProcessingStatusNotOrderByDisplayOrderAscIdAsc(Long projectId,
+                                                                                        ProcessingStatus excluded,
+                                                                                        Pageable pageable);
+
+    @Query("SELECT m FROM ProjectMedia m WHERE m.projectId = :projectId AND m.processingStatus <> :excluded " +
+           "AND m.displayOrder >= :displayOrder AND (m.displayOrder > :displayOrder OR m.id > :id) " +
+           "ORDER BY m.displayOrder, m.id")
+    List<ProjectMedia> findByProjectIdAndProcessingStatusNotAfter(@Param("projectId") Long projectId,
+                                                                  @Param("excluded") ProcessingStatus excluded,
+                                                                  @Param("displayOrder") int displayOrder,
+                                                                  @Param("id") long id, Pageable pageable);
+
+    // Portfolio owner of a media row, for PortfolioChangedEvent
+    @Query("SELECT u.username FROM ProjectMedia m JOIN Project p ON p.id = m.projectId JOIN User u ON u.id = p.userId " +
+           "WHERE m.id = :id")
+    Optional<String> findOwnerUsername(@Param("id") Long id);
+
+    // Returns 0 when the media already had that status
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProjectMedia m SET m.processingStatus = :status WHERE m.id = :id AND m.processingStatus <> :status")
+    int updateProcessingStatus(@Param("id") Long id, @Param("status") ProcessingStatus status);
 }
\ No newline at end of file
@@ -1,10 +1,32 @@
 package com.example.portfoliobackend.repository;
 
+import com.example.portfoliobackend.dto.PublicProject;
 import com.example.portfoliobackend.model.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUserId(Long userId);
+    String SELECT_PUBLIC = "SELECT p.id AS id, p.title AS title, p.description AS description, " +
+            "p.thumbnail AS thumbnail, p.projectUrl AS projectUrl, p.githubUrl AS githubUrl, p.featured AS featured, " +
+            "p.displayOrder AS displayOrder, p.startDate AS startDate, p.endDate AS endDate FROM Project p ";
+
+    // Display order, served by the (user_id, display_order) index
+    List<Project> findByUserIdOrderByDisplayOrderAscIdAsc(Long userId);
+
+    // Public view: selects only the projected columns and never builds managed entities
+    @Query(SELECT_PUBLIC + "WHERE p.userId = :userId ORDER BY p.displayOrder, p.id")
+    List<PublicProject> findPublicByUserId(@Param("userId") Long userId);
+
+    // Keyset pagination: the first page, then the page after the (display_order, id) of the previous page's last row
+    @Query(SELECT_PUBLIC + "WHERE p.userId = :userId ORDER BY p.displayOrder, p.id")
+    List<PublicProject> findPublicByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_PUBLIC + "WHERE p.userId = :userId AND p.displayOrder >= :displayOrder " +
+           "AND (p.displayOrder > :displayOrder OR p.id > :id) ORDER BY p.displayOrder, p.id")
+    List<PublicProject> findPublicByUserIdAfter(@Param("userId") Long userId, @Param("displayOrder") int displayOrder,
+                                                @Param("id") long id, Pageable pageable);
 }
\ No newline at end of file
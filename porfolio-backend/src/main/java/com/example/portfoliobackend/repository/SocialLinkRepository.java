@@ -6,5 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface SocialLinkRepository extends JpaRepository<SocialLink, Long> {
-    List<SocialLink> findByUserId(Long userId);
+    // Display order, served by the (user_id, display_order) index
+    List<SocialLink> findByUserIdOrderByDisplayOrderAscIdAsc(Long userId);
 }
\ No newline at end of file
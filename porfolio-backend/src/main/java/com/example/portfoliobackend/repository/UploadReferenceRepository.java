@@ -0,0 +1,19 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.UploadReference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface UploadReferenceRepository extends JpaRepository<UploadReference, Long> {
+
+    boolean existsByFileIdAndUserId(Long fileId, Long userId);
+
+    // Callers hold the file_uploads row lock, so the count they adjust afterwards stays consistent
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadReference r WHERE r.fileId = :fileId AND r.userId = :userId")
+    int deleteByFileIdAndUserId(@Param("fileId") Long fileId, @Param("userId") Long userId);
+}
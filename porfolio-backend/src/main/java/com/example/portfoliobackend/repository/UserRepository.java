@@ -2,12 +2,15 @@ package com.example.portfoliobackend.repository;
 
 import com.example.portfoliobackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // LOWER(column) = LOWER(?) is served by the functional indexes from V6__per_user_lookup_indexes.sql
     @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
     Optional<User> findByUsername(@Param("username") String username);
 
@@ -16,4 +19,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE LOWER(u.email) = LOWER(:email)")
     boolean existsByEmail(@Param("email") String email);
+
+    // portfolio_version (V8) is not mapped on User, so entity saves never overwrite a concurrent bump
+    @Query(value = "SELECT portfolio_version FROM users WHERE LOWER(username) = LOWER(:username)", nativeQuery = true)
+    Optional<Long> findPortfolioVersion(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET portfolio_version = portfolio_version + 1 WHERE LOWER(username) = LOWER(:username)",
+           nativeQuery = true)
+    int bumpPortfolioVersion(@Param("username") String username);
 }
\ No newline at end of file
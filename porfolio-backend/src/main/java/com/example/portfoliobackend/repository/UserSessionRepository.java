@@ -2,9 +2,31 @@ package com.example.portfoliobackend.repository;
 
 import com.example.portfoliobackend.model.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
     List<UserSession> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    Optional<UserSession> findByToken(String token);
+
+    @Query("SELECT s.token FROM UserSession s WHERE s.token IN :tokens")
+    List<String> findExistingTokens(@Param("tokens") Collection<String> tokens);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserSession s SET s.lastActivity = :lastActivity WHERE s.id IN :ids")
+    int updateLastActivity(@Param("ids") Collection<Long> ids, @Param("lastActivity") LocalDateTime lastActivity);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserSession s WHERE s.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,19 @@
 package com.example.portfoliobackend.repository;
 
+import com.example.portfoliobackend.dto.UserSkillDetail;
 import com.example.portfoliobackend.model.UserSkill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface UserSkillRepository extends JpaRepository<UserSkill, Long> {
     List<UserSkill> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Single join against the skill catalogue instead of one findById per user skill
+    @Query("SELECT us.id AS id, s.id AS skillId, s.name AS skillName, s.category AS category, " +
+           "us.proficiency AS proficiency, us.yearsExperience AS yearsExperience " +
+           "FROM UserSkill us JOIN Skill s ON s.id = us.skillId WHERE us.userId = :userId")
+    List<UserSkillDetail> findDetailsByUserId(@Param("userId") Long userId);
+}
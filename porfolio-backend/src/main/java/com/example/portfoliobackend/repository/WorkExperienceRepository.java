@@ -1,10 +1,21 @@
 package com.example.portfoliobackend.repository;
 
+import com.example.portfoliobackend.dto.PublicExperience;
 import com.example.portfoliobackend.model.WorkExperience;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface WorkExperienceRepository extends JpaRepository<WorkExperience, Long> {
-    List<WorkExperience> findByUserId(Long userId);
+    // Display order, served by the (user_id, display_order) index
+    List<WorkExperience> findByUserIdOrderByDisplayOrderAscIdAsc(Long userId);
+
+    // Public view, without the owner id and audit columns
+    @Query("SELECT w.id AS id, w.company AS company, w.position AS position, w.description AS description, " +
+           "w.startDate AS startDate, w.endDate AS endDate, w.currentJob AS currentJob, w.location AS location, " +
+           "w.displayOrder AS displayOrder " +
+           "FROM WorkExperience w WHERE w.userId = :userId ORDER BY w.displayOrder, w.id")
+    List<PublicExperience> findPublicByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.example.portfoliobackend.service;
 
 import com.example.portfoliobackend.model.User;
 import com.example.portfoliobackend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,6 +14,8 @@ import java.util.Collections;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     private final UserRepository userRepository;
 
     public CustomUserDetailsService(UserRepository userRepository) {
@@ -20,13 +24,13 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        System.out.println("Attempting to load user: " + username);
         User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    System.out.println("User not found: " + username);
-                    return new UsernameNotFoundException("User not found with username: " + username);
-                });
-        System.out.println("User found: " + username);
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        logger.atDebug()
+                .setMessage("Loaded user details")
+                .addKeyValue("username", username)
+                .addKeyValue("userId", user.getId())
+                .log();
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
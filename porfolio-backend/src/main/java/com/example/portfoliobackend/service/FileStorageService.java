@@ -1,66 +1,371 @@
 package com.example.portfoliobackend.service;
 
+import com.example.portfoliobackend.model.FileUpload;
+import com.example.portfoliobackend.model.UploadReference;
+import com.example.portfoliobackend.repository.FileUploadRepository;
+import com.example.portfoliobackend.repository.UploadReferenceRepository;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class FileStorageService {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Text-like formats worth serving gzip-encoded; images, video and archives are already compressed
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+            Set.of("svg", "pdf", "json", "txt", "csv", "xml", "html", "css", "js", "md");
+    private static final long MAX_PRECOMPRESS_SIZE = 32L * 1024 * 1024;
+    // Stored names are <sha256>.<ext>; anything else is a legacy random (UUID) name
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]+)?");
+    private static final int MAX_REFERENCE_ATTEMPTS = 3;
+
+    private final FileUploadRepository fileUploadRepository;
+    private final UploadReferenceRepository uploadReferenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    // For work after a commit, which must not join the transaction that just finished
+    private final TransactionTemplate newTransaction;
+    private final ImageDerivativeService imageDerivatives;
+
     @Value("${app.upload.dir}")
     private String uploadDir;
+
+    @Value("${app.upload.max-size:2GB}")
+    private DataSize maxUploadSize;
     
     private Path rootLocation;
+    // Partial uploads live next to the final files so the last step can be an atomic rename
+    private Path tempLocation;
+
+    public FileStorageService(FileUploadRepository fileUploadRepository,
+                              UploadReferenceRepository uploadReferenceRepository,
+                              PlatformTransactionManager transactionManager,
+                              ImageDerivativeService imageDerivatives) {
+        this.fileUploadRepository = fileUploadRepository;
+        this.uploadReferenceRepository = uploadReferenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.imageDerivatives = imageDerivatives;
+    }
     
     @PostConstruct
     public void init() {
         try {
             rootLocation = Paths.get(uploadDir);
+            tempLocation = rootLocation.resolve(".tmp");
             Files.createDirectories(rootLocation);
+            Files.createDirectories(tempLocation);
         } catch (IOException e) {
             throw new RuntimeException("Could not initialize storage location", e);
         }
     }
     
-    public String store(MultipartFile file) {
+    public String store(MultipartFile file, Long userId) {
         try {
             if (file.isEmpty()) {
                 throw new RuntimeException("Failed to store empty file");
             }
-            
-            // Generate a unique filename to prevent overwriting
-            String originalFilename = file.getOriginalFilename();
-            String extension = FilenameUtils.getExtension(originalFilename);
-            String newFilename = UUID.randomUUID().toString() + "." + extension;
-            
-            // Copy the file to the upload location
-            Path destinationFile = rootLocation.resolve(newFilename);
-            Files.copy(file.getInputStream(), destinationFile);
-            
-            return newFilename;
+            return store(file.getInputStream(), file.getOriginalFilename(), file.getContentType(), file.getSize(), userId)
+                    .filename();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        }
+    }
+
+    /**
+     * Streams content to a temp file through a FileChannel, hashing and counting bytes as they arrive,
+     * then renames it into place under its content hash. If the same bytes are already stored, the
+     * existing copy is reused. Each user holds at most one reference to a file, so the reference count only
+     * grows when userId did not hold one yet. The size limit is enforced while streaming, so an oversized body
+     * is rejected as soon as it crosses the limit. declaredSize may be -1 when unknown.
+     */
+    public StoredFile store(InputStream content, String originalFilename, String contentType, long declaredSize,
+                            Long userId) {
+        long limit = maxUploadSize.toBytes();
+        if (declaredSize > limit) {
+            throw new FileTooLargeException(limit);
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(tempLocation, "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+
+            try (ReadableByteChannel in = Channels.newChannel(content);
+                 FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > limit) {
+                        throw new FileTooLargeException(limit);
+                    }
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            if (size == 0) {
+                throw new RuntimeException("Failed to store empty file");
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String filename = addReference(tempFile, contentHash, extensionOf(originalFilename), contentType, size, userId);
+
+            return new StoredFile(filename, size, contentHash);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Leftover .part files are harmless
+                }
+            }
+        }
+    }
+
+    // Writes a maximally compressed <file>.gz next to a text-like upload once (run as a media job after upload),
+    // so serving it gzip-encoded never costs CPU; the sibling is skipped when it would save less than 10%
+    public void precompress(String filename) {
+        Path file = load(filename);
+        Path gzipped = gzipSibling(file);
+        if (!isCompressible(filename) || !Files.isRegularFile(file) || Files.exists(gzipped)) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            long size = Files.size(file);
+            if (size > MAX_PRECOMPRESS_SIZE) {
+                return;
+            }
+            tempFile = Files.createTempFile(tempLocation, "gzip-", ".part");
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE) {
+                     {
+                         def.setLevel(Deflater.BEST_COMPRESSION);
+                     }
+                 }) {
+                in.transferTo(out);
+            }
+            if (Files.size(tempFile) < size * 0.9) {
+                Files.move(tempFile, gzipped, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to precompress file", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Leftover .part files are harmless
+                }
+            }
+        }
+    }
+
+    public static boolean isCompressible(String filename) {
+        return COMPRESSIBLE_EXTENSIONS.contains(FilenameUtils.getExtension(filename).toLowerCase(Locale.ROOT));
+    }
+
+    public static Path gzipSibling(Path file) {
+        return file.resolveSibling(file.getFileName() + ".gz");
+    }
+
+    // Two first uploads of the same bytes race to insert the row: the loser gets a duplicate key or, on MySQL,
+    // a deadlock between the gap locks both SELECT ... FOR UPDATEs took; either way the row now exists, so retry
+    private String addReference(Path tempFile, String contentHash, String extension, String contentType, long size,
+                                Long userId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status ->
+                        addReferenceLocked(tempFile, contentHash, extension, contentType, size, userId));
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                if (attempt == MAX_REFERENCE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Runs under the row lock, so it cannot interleave with a delete dropping the last reference
+    private String addReferenceLocked(Path tempFile, String contentHash, String extension, String contentType,
+                                      long size, Long userId) {
+        Optional<FileUpload> existing = fileUploadRepository.findByContentHashForUpdate(contentHash);
+        if (existing.isPresent()) {
+            FileUpload upload = existing.get();
+            if (!uploadReferenceRepository.existsByFileIdAndUserId(upload.getId(), userId)) {
+                saveReference(upload, userId);
+                upload.setRefCount(upload.getRefCount() + 1);
+                fileUploadRepository.save(upload);
+            }
+            return upload.getStoredFilename();
+        }
+
+        String filename = contentHash + extension;
+        String relativePath = relativePath(filename);
+        try {
+            Path target = rootLocation.resolve(relativePath);
+            Files.createDirectories(target.getParent());
+            // On a retry the file was already moved into place by the attempt that rolled back
+            if (Files.exists(tempFile) || !Files.isRegularFile(target)) {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file", e);
         }
+
+        FileUpload upload = new FileUpload();
+        upload.setContentHash(contentHash);
+        upload.setStoredFilename(filename);
+        upload.setFilePath(relativePath);
+        upload.setFileSize(size);
+        upload.setContentType(contentType);
+        upload.setRefCount(1);
+        upload.setUploadedAt(LocalDateTime.now());
+        fileUploadRepository.saveAndFlush(upload);
+        saveReference(upload, userId);
+        return filename;
+    }
+
+    private void saveReference(FileUpload upload, Long userId) {
+        UploadReference reference = new UploadReference();
+        reference.setFileId(upload.getId());
+        reference.setUserId(userId);
+        reference.setCreatedAt(LocalDateTime.now());
+        uploadReferenceRepository.save(reference);
+    }
+
+    // Keeps only a plain alphanumeric extension, including the leading dot
+    private static String extensionOf(String originalFilename) {
+        String extension = FilenameUtils.getExtension(originalFilename);
+        if (extension == null) {
+            return "";
+        }
+        extension = extension.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        return extension.isEmpty() ? "" : "." + extension;
     }
     
     public Path load(String filename) {
-        return rootLocation.resolve(filename);
+        return rootLocation.resolve(relativePath(filename));
+    }
+
+    public static boolean isContentAddressed(String filename) {
+        return filename != null && CONTENT_ADDRESSED.matcher(filename).matches();
+    }
+
+    // Content-addressed files are sharded as ab/cd/<hash>.<ext> so no single directory grows too large
+    public static String relativePath(String filename) {
+        if (!isContentAddressed(filename)) {
+            return filename;
+        }
+        return filename.substring(0, 2) + "/" + filename.substring(2, 4) + "/" + filename;
     }
     
-    public void delete(String filename) {
+    /**
+     * Drops userId's reference to a file and returns whether it held one; the file itself is removed only when
+     * nothing refers to it any more. Repeating the call is a no-op. Legacy (UUID) names carry no owner, so
+     * they are never deleted through here.
+     */
+    public boolean delete(String filename, Long userId) {
+        if (!isContentAddressed(filename) || userId == null) {
+            return false;
+        }
+        String contentHash = filename.substring(0, 64);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                fileUploadRepository.findByContentHashForUpdate(contentHash).map(upload -> {
+                    if (uploadReferenceRepository.deleteByFileIdAndUserId(upload.getId(), userId) == 0) {
+                        return false;
+                    }
+                    if (upload.getRefCount() > 1) {
+                        upload.setRefCount(upload.getRefCount() - 1);
+                        fileUploadRepository.save(upload);
+                    } else {
+                        fileUploadRepository.delete(upload);
+                        // Only once the delete has committed: a rollback must leave the row's file in place
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public void afterCommit() {
+                                deleteIfUnreferenced(upload);
+                            }
+                        });
+                    }
+                    return true;
+                }).orElse(false)));
+    }
+
+    // Re-checks under the row lock (a gap lock when the row is absent), so an upload of the same bytes that
+    // re-added the row after the delete committed keeps its file
+    private void deleteIfUnreferenced(FileUpload upload) {
+        newTransaction.executeWithoutResult(status -> {
+            if (fileUploadRepository.findByContentHashForUpdate(upload.getContentHash()).isPresent()) {
+                return;
+            }
+            Path file = rootLocation.resolve(upload.getFilePath());
+            deleteFile(file);
+            deleteFile(gzipSibling(file));
+            imageDerivatives.purge(upload.getStoredFilename());
+        });
+    }
+
+    private void deleteFile(Path file) {
         try {
-            Path file = load(filename);
             Files.deleteIfExists(file);
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file", e);
         }
     }
+
+    public record StoredFile(String filename, long size, String contentHash) {
+    }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public static class FileTooLargeException extends RuntimeException {
+        public FileTooLargeException(long limit) {
+            super("File exceeds the maximum upload size of " + limit + " bytes");
+        }
+    }
 } 
\ No newline at end of file
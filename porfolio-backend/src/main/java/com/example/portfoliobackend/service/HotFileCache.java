@@ -0,0 +1,48 @@
+package com.example.portfoliobackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keeps the bytes of small, frequently requested uploads (avatars, thumbnails) in memory.
+ * Caffeine's frequency-based admission decides which files stay, so one-off requests don't push out hot ones.
+ */
+@Service
+public class HotFileCache {
+
+    private final long maxFileSize;
+    private final Cache<Path, CachedFile> cache;
+
+    public HotFileCache(@Value("${app.upload.hot-cache.max-size:32MB}") DataSize maxSize,
+                        @Value("${app.upload.hot-cache.max-file-size:256KB}") DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Path path, CachedFile file) -> file.body().length)
+                .build();
+    }
+
+    // Returns the file's bytes if it is small enough to cache (reading it on a miss), otherwise null
+    public byte[] get(Path file, long size, long lastModified) throws IOException {
+        if (size > maxFileSize) {
+            return null;
+        }
+        CachedFile cached = cache.getIfPresent(file);
+        if (cached != null && cached.lastModified() == lastModified && cached.body().length == size) {
+            return cached.body();
+        }
+        byte[] body = Files.readAllBytes(file);
+        cache.put(file, new CachedFile(body, lastModified));
+        return body;
+    }
+
+    private record CachedFile(byte[] body, long lastModified) {
+    }
+}
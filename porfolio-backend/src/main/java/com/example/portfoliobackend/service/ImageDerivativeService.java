@@ -0,0 +1,351 @@
+package com.example.portfoliobackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Resized copies of uploaded images at a fixed set of widths, generated on first request with the JDK's ImageIO
+ * and kept in a size-capped, least-recently-used disk cache under {upload dir}/.derivatives/{width}/.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    public static final int[] WIDTHS = {160, 320, 640, 1280};
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    @Value("${app.upload.derivatives.max-size:512MB}")
+    private DataSize maxCacheSize;
+
+    // Decoding a large image takes a lot of heap, so only a few are resized at once
+    private final Semaphore generationPermits;
+    // Images whose header declares more pixels than this are never decoded (decompression bombs)
+    private final long maxPixels;
+
+    private Path derivativesLocation;
+    // Derivative path -> size in bytes, in least-recently-used order; guarded by lruLock, which is held across
+    // evictions' file deletes, so it is a ReentrantLock to avoid pinning virtual threads
+    private final LinkedHashMap<Path, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lruLock = new ReentrantLock();
+    private long cachedBytes;
+    // Requests for the same derivative while it is being generated wait for that one result
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    // Derivative paths whose original is served as is (already narrow enough, over the pixel limit or unreadable),
+    // so repeat requests neither wait for a generation permit nor parse the header again
+    private final Cache<Path, Boolean> servesOriginal = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .build();
+
+    public ImageDerivativeService(@Value("${app.upload.derivatives.max-concurrent:2}") int maxConcurrent,
+                                  @Value("${app.upload.derivatives.max-pixels:50000000}") long maxPixels) {
+        this.generationPermits = new Semaphore(maxConcurrent);
+        this.maxPixels = maxPixels;
+        ImageIO.setUseCache(false);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            derivativesLocation = Paths.get(uploadDir).resolve(".derivatives");
+            Files.createDirectories(derivativesLocation);
+            // Rebuild the LRU order from what is already on disk, oldest first
+            try (Stream<Path> files = Files.walk(derivativesLocation)) {
+                List<Path> existing = files.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparingLong(this::lastModified))
+                        .toList();
+                for (Path file : existing) {
+                    record(file, Files.size(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize derivative cache", e);
+        }
+    }
+
+    public static boolean isResizable(String filename) {
+        return SUPPORTED_EXTENSIONS.contains(FilenameUtils.getExtension(filename).toLowerCase(Locale.ROOT));
+    }
+
+    // Smallest standard width that covers the request, or the largest one for bigger requests
+    public static int closestWidth(int requestedWidth) {
+        for (int width : WIDTHS) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    /**
+     * Returns the file to serve for a request at the given width: a cached or freshly generated derivative,
+     * or the original itself when it is not a resizable image, is already no wider than the target,
+     * or declares more pixels than app.upload.derivatives.max-pixels.
+     */
+    public Path resolve(String filename, Path original, int requestedWidth) {
+        if (!isResizable(filename)) {
+            return original;
+        }
+        int width = closestWidth(requestedWidth);
+        Path derivative = derivativePath(filename, width);
+
+        if (Files.isRegularFile(derivative)) {
+            touch(derivative);
+            return derivative;
+        }
+        if (servesOriginal.getIfPresent(derivative) != null) {
+            return original;
+        }
+
+        CompletableFuture<Path> pending = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(derivative, pending);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Path result = generate(original, derivative, width);
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(derivative);
+        }
+    }
+
+    // Generates every standard width up front, so later requests find them on disk
+    public void pregenerate(String filename, Path original) {
+        for (int width : WIDTHS) {
+            resolve(filename, original, width);
+        }
+    }
+
+    // Removes every derivative of an upload, e.g. once the original is deleted
+    public void purge(String filename) {
+        for (int width : WIDTHS) {
+            Path derivative = derivativePath(filename, width);
+            servesOriginal.invalidate(derivative);
+            try {
+                if (Files.deleteIfExists(derivative)) {
+                    forget(derivative);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete derivative {}", derivative, e);
+            }
+        }
+    }
+
+    private Path generate(Path original, Path derivative, int width) {
+        generationPermits.acquireUninterruptibly();
+        try {
+            BufferedImage source = readIfWiderThan(original, width);
+            if (source == null) {
+                servesOriginal.put(derivative, Boolean.TRUE);
+                return original;
+            }
+            BufferedImage resized = resize(source, width);
+
+            Files.createDirectories(derivative.getParent());
+            Path tempFile = Files.createTempFile(derivative.getParent(), "derivative-", ".part");
+            try {
+                write(resized, formatOf(derivative), tempFile);
+                Files.move(tempFile, derivative, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            record(derivative, Files.size(derivative));
+            return derivative;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate image derivative", e);
+        } finally {
+            generationPermits.release();
+        }
+    }
+
+    // Reads the header first so images that need no resizing, or are too large to decode safely, are never decoded.
+    // Wide images are subsampled while decoding, down to about twice the target width, so the decoded copy stays
+    // small and the halving passes in resize() still smooth it.
+    private BufferedImage readIfWiderThan(Path original, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if (sourceWidth <= width) {
+                    return null;
+                }
+                if ((long) sourceWidth * sourceHeight > maxPixels) {
+                    logger.warn("Not resizing {}: {}x{} is over the {} pixel limit", original.getFileName(),
+                            sourceWidth, sourceHeight, maxPixels);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, sourceWidth / (2 * width));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves the image while that keeps it at least as wide as the target, then does one final bilinear pass;
+    // this avoids the aliasing of a single large downscale
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        while (current.getWidth() > width) {
+            int nextWidth = current.getWidth() / 2 >= width ? current.getWidth() / 2 : width;
+            int nextHeight = nextWidth == width ? targetHeight : Math.max(1, current.getHeight() / 2);
+            current = scale(current, nextWidth, nextHeight, type);
+        }
+        return current;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height, int type) {
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // JPEGs stay JPEG; everything else becomes PNG so transparency survives
+    private Path derivativePath(String filename, int width) {
+        String extension = FilenameUtils.getExtension(filename).toLowerCase(Locale.ROOT);
+        String format = extension.equals("jpg") || extension.equals("jpeg") ? "jpg" : "png";
+        return derivativesLocation.resolve(String.valueOf(width))
+                .resolve(FilenameUtils.getBaseName(filename) + "." + format);
+    }
+
+    private static String formatOf(Path derivative) {
+        return FilenameUtils.getExtension(derivative.getFileName().toString());
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void touch(Path derivative) {
+        lruLock.lock();
+        try {
+            lru.get(derivative);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void forget(Path derivative) {
+        lruLock.lock();
+        try {
+            Long size = lru.remove(derivative);
+            if (size != null) {
+                cachedBytes -= size;
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    // Adds a derivative and evicts the least recently used ones until the cache fits its cap again
+    private void record(Path derivative, long size) {
+        lruLock.lock();
+        try {
+            Long previous = lru.put(derivative, size);
+            cachedBytes += size - (previous == null ? 0 : previous);
+
+            Iterator<Map.Entry<Path, Long>> eldest = lru.entrySet().iterator();
+            while (cachedBytes > maxCacheSize.toBytes() && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(derivative)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(entry.getKey());
+                } catch (IOException e) {
+                    logger.warn("Could not evict derivative {}", entry.getKey(), e);
+                    continue;
+                }
+                cachedBytes -= entry.getValue();
+                eldest.remove();
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+}
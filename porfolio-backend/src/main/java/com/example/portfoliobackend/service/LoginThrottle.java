@@ -0,0 +1,143 @@
+package com.example.portfoliobackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory sliding-window limits for login: total attempts per client IP, and failed attempts per username.
+ * A successful login clears the username's failures. The IP is the client address as resolved by Tomcat, which
+ * only takes it from X-Forwarded-For for requests from the trusted proxies configured in application-prod.properties.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int maxAttemptsPerIp;
+    private final long ipWindowMillis;
+    private final int maxFailuresPerUsername;
+    private final long usernameWindowMillis;
+    private final LongSupplier clock;
+
+    private final Cache<String, SlidingWindow> ipAttempts;
+    private final Cache<String, SlidingWindow> usernameFailures;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.security.login.ip.max-attempts:20}") int maxAttemptsPerIp,
+                         @Value("${app.security.login.ip.window-seconds:60}") long ipWindowSeconds,
+                         @Value("${app.security.login.username.max-failures:5}") int maxFailuresPerUsername,
+                         @Value("${app.security.login.username.window-seconds:900}") long usernameWindowSeconds) {
+        this(maxAttemptsPerIp, ipWindowSeconds, maxFailuresPerUsername, usernameWindowSeconds,
+                System::currentTimeMillis);
+    }
+
+    // Tests pass their own clock to move through the windows
+    LoginThrottle(int maxAttemptsPerIp, long ipWindowSeconds, int maxFailuresPerUsername, long usernameWindowSeconds,
+                  LongSupplier clock) {
+        this.clock = clock;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.ipWindowMillis = Duration.ofSeconds(ipWindowSeconds).toMillis();
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.usernameWindowMillis = Duration.ofSeconds(usernameWindowSeconds).toMillis();
+        this.ipAttempts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofSeconds(ipWindowSeconds))
+                .build();
+        this.usernameFailures = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofSeconds(usernameWindowSeconds))
+                .build();
+    }
+
+    // Returns 0 if the attempt may proceed (and counts it against the IP), otherwise the seconds to wait
+    public long checkAttempt(String username, String ipAddress) {
+        long now = clock.getAsLong();
+
+        SlidingWindow failures = usernameFailures.getIfPresent(normalize(username));
+        if (failures != null) {
+            long waitMillis = failures.waitMillis(now, maxFailuresPerUsername, usernameWindowMillis);
+            if (waitMillis > 0) {
+                return toSeconds(waitMillis);
+            }
+        }
+
+        SlidingWindow attempts = ipAttempts.get(ipAddress, key -> new SlidingWindow());
+        return toSeconds(attempts.tryRecord(now, maxAttemptsPerIp, ipWindowMillis));
+    }
+
+    public void recordFailure(String username) {
+        usernameFailures.get(normalize(username), key -> new SlidingWindow())
+                .record(clock.getAsLong(), usernameWindowMillis);
+    }
+
+    public void recordSuccess(String username) {
+        usernameFailures.invalidate(normalize(username));
+    }
+
+    // Usernames are matched case-insensitively on login
+    private static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long millis) {
+        return millis <= 0 ? 0 : Math.max(1, (millis + 999) / 1000);
+    }
+
+    private static final class SlidingWindow {
+
+        private final Deque<Long> timestamps = new ArrayDeque<>();
+        // A ReentrantLock rather than synchronized, so waiting virtual threads unmount instead of pinning
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Records the event if under the limit and returns 0, otherwise returns the milliseconds until a slot frees up
+        long tryRecord(long now, int limit, long windowMillis) {
+            lock.lock();
+            try {
+                long waitMillis = waitMillis(now, limit, windowMillis);
+                if (waitMillis == 0) {
+                    timestamps.addLast(now);
+                }
+                return waitMillis;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void record(long now, long windowMillis) {
+            lock.lock();
+            try {
+                prune(now, windowMillis);
+                timestamps.addLast(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long waitMillis(long now, int limit, long windowMillis) {
+            lock.lock();
+            try {
+                prune(now, windowMillis);
+                if (timestamps.size() < limit) {
+                    return 0;
+                }
+                return timestamps.peekFirst() + windowMillis - now;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void prune(long now, long windowMillis) {
+            while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMillis) {
+                timestamps.removeFirst();
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
+import com.example.portfoliobackend.model.MediaJob;
+import com.example.portfoliobackend.model.MediaJob.JobType;
+import com.example.portfoliobackend.model.MediaJob.Status;
+import com.example.portfoliobackend.model.ProjectMedia;
+import com.example.portfoliobackend.model.ProjectMedia.ProcessingStatus;
+import com.example.portfoliobackend.repository.MediaJobRepository;
+import com.example.portfoliobackend.repository.ProjectMediaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Persistent background queue for upload processing. Jobs are rows in media_jobs, so they survive restarts;
+ * a poller claims due jobs with a conditional UPDATE and hands them to a small worker pool, never claiming more
+ * than there are free workers. Failures, including Errors, are retried with exponential backoff up to max_attempts
+ * (claims count as attempts, so a job whose worker dies mid-run is capped too), and the outcome is reflected in
+ * the processing_status of the linked ProjectMedia row.
+ */
+@Service
+public class MediaJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaJobService.class);
+    private static final Set<Status> UNFINISHED = EnumSet.of(Status.PENDING, Status.RUNNING);
+    private static final Set<Status> NOT_FAILED = EnumSet.of(Status.PENDING, Status.RUNNING, Status.SUCCEEDED);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final MediaJobRepository mediaJobRepository;
+    private final ProjectMediaRepository projectMediaRepository;
+    private final FileStorageService fileStorageService;
+    private final ImageDerivativeService imageDerivatives;
+    private final TaskExecutor executor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Semaphore freeWorkers;
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${app.media.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.media.jobs.retry-backoff-ms:5000}")
+    private long retryBackoffMillis;
+
+    @Value("${app.media.jobs.stale-after-seconds:600}")
+    private long staleAfterSeconds;
+
+    public MediaJobService(MediaJobRepository mediaJobRepository,
+                           ProjectMediaRepository projectMediaRepository,
+                           FileStorageService fileStorageService,
+                           ImageDerivativeService imageDerivatives,
+                           @Qualifier("mediaJobExecutor") TaskExecutor executor,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.media.jobs.workers:2}") int workers) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.projectMediaRepository = projectMediaRepository;
+        this.fileStorageService = fileStorageService;
+        this.imageDerivatives = imageDerivatives;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.freeWorkers = new Semaphore(workers);
+    }
+
+    // Queues the processing a freshly stored upload needs; returns the number of jobs created
+    public int enqueueFor(String filename, Long mediaId) {
+        List<JobType> types = new ArrayList<>();
+        if (ImageDerivativeService.isResizable(filename)) {
+            types.add(JobType.IMAGE_DERIVATIVES);
+        }
+        if (FileStorageService.isCompressible(filename)) {
+            types.add(JobType.PRECOMPRESS);
+        }
+
+        int created = 0;
+        for (JobType type : types) {
+            // Identical bytes share one stored file, so a re-upload needs no new job (unless the last one failed)
+            if (mediaId == null && mediaJobRepository.existsByStoredFilenameAndJobTypeAndStatusIn(filename, type, NOT_FAILED)) {
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            MediaJob job = new MediaJob();
+            job.setJobType(type);
+            job.setStoredFilename(filename);
+            job.setMediaId(mediaId);
+            job.setStatus(Status.PENDING);
+            job.setAttempts(0);
+            job.setMaxAttempts(maxAttempts);
+            job.setNextAttemptAt(now);
+            job.setCreatedAt(now);
+            job.setUpdatedAt(now);
+            mediaJobRepository.save(job);
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Links a new ProjectMedia row to the processing of its file and returns the status it was given.
+     * Unfinished jobs not yet linked to other media are adopted; otherwise fresh (idempotent) jobs are queued.
+     */
+    public ProcessingStatus attach(ProjectMedia media) {
+        String filename = storedFilenameOf(media.getMediaUrl());
+        if (filename == null || !mediaJobRepository.existsByStoredFilenameAndStatusIn(filename, UNFINISHED)) {
+            return media.getProcessingStatus();
+        }
+        projectMediaRepository.updateProcessingStatus(media.getId(), ProcessingStatus.pending);
+        if (mediaJobRepository.linkToMedia(filename, media.getId(), UNFINISHED) == 0) {
+            enqueueFor(filename, media.getId());
+        }
+        // Jobs may have finished while linking
+        return refreshMediaStatus(media.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.media.jobs.poll-interval-ms:1000}")
+    public void dispatchDueJobs() {
+        int capacity = freeWorkers.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> due = mediaJobRepository.findDueIds(Status.PENDING, LocalDateTime.now(), PageRequest.of(0, capacity));
+        for (Long id : due) {
+            if (!freeWorkers.tryAcquire()) {
+                return;
+            }
+            if (mediaJobRepository.claim(id, workerId, LocalDateTime.now(), Status.PENDING, Status.RUNNING) == 0) {
+                freeWorkers.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(id);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Picked up again by requeueStaleJobs
+                freeWorkers.release();
+                logger.warn("Media job {} rejected by the worker pool", id);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.media.jobs.stale-check-interval-ms:60000}")
+    public void requeueStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusSeconds(staleAfterSeconds);
+        List<Long> exhaustedMedia = mediaJobRepository.findExhaustedStaleMediaIds(staleBefore, Status.RUNNING);
+        int failed = mediaJobRepository.failStale(staleBefore, now, "Worker stopped before the job finished",
+                Status.RUNNING, Status.FAILED);
+        if (failed > 0) {
+            logger.warn("Failed {} stale media jobs that were out of attempts", failed);
+            exhaustedMedia.forEach(this::refreshMediaStatus);
+        }
+        int requeued = mediaJobRepository.requeueStale(staleBefore, now, Status.PENDING, Status.RUNNING);
+        if (requeued > 0) {
+            logger.warn("Requeued {} stale media jobs", requeued);
+        }
+    }
+
+    private void run(Long id) {
+        MediaJob job = mediaJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Status status = Status.SUCCEEDED;
+        String lastError = null;
+        LocalDateTime nextAttemptAt = job.getNextAttemptAt();
+        try {
+            Path file = fileStorageService.load(job.getStoredFilename());
+            // The upload may have been deleted while the job waited; nothing left to do then
+            if (Files.isRegularFile(file)) {
+                switch (job.getJobType()) {
+                    case IMAGE_DERIVATIVES -> imageDerivatives.pregenerate(job.getStoredFilename(), file);
+                    case PRECOMPRESS -> fileStorageService.precompress(job.getStoredFilename());
+                }
+            }
+        } catch (Throwable e) {
+            // Errors too (e.g. OutOfMemoryError on a huge image): otherwise the job would stay RUNNING
+            logger.warn("Media job {} ({}) failed on attempt {}", id, job.getJobType(), job.getAttempts(), e);
+            lastError = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                status = Status.FAILED;
+            } else {
+                status = Status.PENDING;
+                nextAttemptAt = LocalDateTime.now().plus(backoff(job.getAttempts()));
+            }
+        }
+        mediaJobRepository.finish(id, status, lastError, nextAttemptAt, LocalDateTime.now());
+        mediaJobRepository.findById(id).ifPresent(finished -> refreshMediaStatus(finished.getMediaId()));
+    }
+
+    // Exponential backoff: base, 2x base, 4x base, ... capped at MAX_BACKOFF
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = Duration.ofMillis(retryBackoffMillis).multipliedBy(multiplier);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private ProcessingStatus refreshMediaStatus(Long mediaId) {
+        if (mediaId == null) {
+            return null;
+        }
+        ProcessingStatus status;
+        if (mediaJobRepository.existsByMediaIdAndStatus(mediaId, Status.FAILED)) {
+            status = ProcessingStatus.failed;
+        } else if (mediaJobRepository.countByMediaIdAndStatusIn(mediaId, UNFINISHED) > 0) {
+            status = ProcessingStatus.pending;
+        } else {
+            status = ProcessingStatus.ready;
+        }
+        if (projectMediaRepository.updateProcessingStatus(mediaId, status) > 0) {
+            // Public media pages only list ready media, so their ETags must change with the status
+            projectMediaRepository.findOwnerUsername(mediaId).ifPresent(username ->
+                    eventPublisher.publishEvent(new PortfolioChangedEvent(username, PortfolioCache.Section.PROJECTS)));
+        }
+        return status;
+    }
+
+    // Media URLs point at /uploads/{filename}, possibly with a query string
+    private static String storedFilenameOf(String mediaUrl) {
+        if (mediaUrl == null) {
+            return null;
+        }
+        int start = mediaUrl.lastIndexOf("/uploads/");
+        if (start < 0) {
+            return null;
+        }
+        String filename = mediaUrl.substring(start + "/uploads/".length());
+        int query = filename.indexOf('?');
+        return query < 0 ? filename : filename.substring(0, query);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.config.PortfolioCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of serialized public portfolio responses, keyed by username, section and the user's
+ * {@link PortfolioVersionService} version. A change through any instance moves the user to a new version, so
+ * older entries are never served again and simply age out.
+ */
+@Service
+public class PortfolioCache {
+
+    public enum Section {
+        PROFILE, PROJECTS, SKILLS, EDUCATION, EXPERIENCE, SOCIAL_LINKS, SECTIONS, FULL
+    }
+
+    private record Key(String username, Section section, long version) {
+    }
+
+    private final AsyncCache<Key, PortfolioSnapshot> cache;
+    private final ObjectMapper objectMapper;
+
+    public PortfolioCache(PortfolioCacheProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Key key, PortfolioSnapshot snapshot) -> snapshot.weight())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached snapshot for the section at the given version, loading and serializing it at most once
+     * per key when absent. Not-found and private responses are cached too; registration and settings changes
+     * publish a new version.
+     */
+    public PortfolioSnapshot get(String username, Section section, long version, Supplier<ResponseEntity<?>> loader) {
+        // Only an empty future is inserted under Caffeine's map lock; the database load runs after it is released,
+        // so it never blocks other keys in the same bin or pins a virtual thread's carrier
+        CompletableFuture<PortfolioSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<PortfolioSnapshot> snapshot = cache.get(new Key(normalize(username), section, version),
+                (key, executor) -> created);
+        if (snapshot == created) {
+            try {
+                created.complete(PortfolioSnapshot.of(loader.get(), objectMapper));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return snapshot.join();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hit_rate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("eviction_weight", stats.evictionWeight());
+        result.put("load_failures", stats.loadFailureCount());
+        result.put("average_load_penalty_ms", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    // Usernames are matched case-insensitively by UserRepository, so share one entry per user
+    static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+}
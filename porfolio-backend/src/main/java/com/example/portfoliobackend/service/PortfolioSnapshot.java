@@ -0,0 +1,124 @@
+package com.example.portfoliobackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, already-serialized copy of a public portfolio response.
+ * The JSON is rendered once when the snapshot is built and the same bytes are written on every hit,
+ * together with a gzip variant for clients that accept it.
+ */
+public final class PortfolioSnapshot {
+
+    // Below this size gzip framing overhead outweighs the savings
+    private static final int GZIP_MIN_BYTES = 512;
+
+    private final HttpStatusCode status;
+    private final MediaType contentType;
+    private final byte[] body;
+    private final byte[] gzipBody;
+
+    private PortfolioSnapshot(HttpStatusCode status, MediaType contentType, byte[] body, byte[] gzipBody) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.gzipBody = gzipBody;
+    }
+
+    public static PortfolioSnapshot of(ResponseEntity<?> response, ObjectMapper objectMapper) {
+        Object payload = response.getBody();
+        MediaType contentType;
+        byte[] body;
+        if (payload instanceof String message) {
+            // Error responses are plain text messages such as "User not found"
+            contentType = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+            body = message.getBytes(StandardCharsets.UTF_8);
+        } else {
+            contentType = MediaType.APPLICATION_JSON;
+            try {
+                body = objectMapper.writeValueAsBytes(payload);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize portfolio response", e);
+            }
+        }
+        byte[] gzipBody = body.length >= GZIP_MIN_BYTES ? gzip(body) : null;
+        if (gzipBody != null && gzipBody.length >= body.length) {
+            gzipBody = null;
+        }
+        return new PortfolioSnapshot(response.getStatusCode(), contentType, body, gzipBody);
+    }
+
+    /**
+     * Builds the response for this snapshot. Successful responses carry the ETag and ask caches to
+     * revalidate, so clients and CDNs can keep the bytes and get a 304 while the version is unchanged.
+     */
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding, String etag) {
+        boolean useGzip = gzipBody != null && acceptsGzip(acceptEncoding);
+        byte[] content = useGzip ? gzipBody : body;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .contentType(contentType)
+                .contentLength(content.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (useGzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (status.is2xxSuccessful() && etag != null) {
+            builder.eTag(etag).cacheControl(CacheControl.noCache().cachePublic());
+        }
+        return builder.body(content);
+    }
+
+    // Retained heap in bytes, used as the cache weight
+    public int weight() {
+        return body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
+import com.example.portfoliobackend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Content version per user, used to build strong ETags and to key {@link PortfolioCache} entries.
+ * The version lives in users.portfolio_version and is bumped on every {@link PortfolioChangedEvent}, so all
+ * instances agree on it. Each instance re-reads it from the primary at most once per refresh interval,
+ * which bounds how long a change made through another instance can go unnoticed.
+ */
+@Service
+public class PortfolioVersionService {
+
+    // Version of a username that has no account, distinct from any real one
+    private static final long NO_USER = -1;
+
+    private final UserRepository userRepository;
+    private final ReplicaReads replicaReads;
+    private final Cache<String, Long> versions;
+    // Last version read per user, to notice changes made through other instances
+    private final Cache<String, Long> lastSeen = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(6))
+            .build();
+
+    public PortfolioVersionService(UserRepository userRepository, ReplicaReads replicaReads,
+                                   @Value("${app.portfolio.version-refresh-ms:1000}") long refreshMillis) {
+        this.userRepository = userRepository;
+        this.replicaReads = replicaReads;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(refreshMillis))
+                .build();
+    }
+
+    public long currentVersion(String username) {
+        String key = PortfolioCache.normalize(username);
+        Long cached = versions.getIfPresent(key);
+        return cached != null ? cached : remember(key, load(key));
+    }
+
+    // Strong ETag for one representation (section) of the user's data
+    public String etag(String username, String representation) {
+        return etag(currentVersion(username), representation);
+    }
+
+    public static String etag(long version, String representation) {
+        return "\"" + Long.toString(version, 36) + "-" + representation + "\"";
+    }
+
+    // Bumped in the publisher's transaction when there is one; runs after ReplicaReads has pinned the user's reads
+    // to the primary, so the new version is never paired with rows a replica has not received yet
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        String username = PortfolioCache.normalize(event.getUsername());
+        userRepository.bumpPortfolioVersion(username);
+        remember(username, load(username));
+    }
+
+    // Versions only grow, so a slow read that finishes after a newer one never moves the user back.
+    // The database read happens before this, outside Caffeine's per-key lock.
+    private long remember(String username, long version) {
+        return versions.asMap().merge(username, version, Math::max);
+    }
+
+    private long load(String username) {
+        long version = userRepository.findPortfolioVersion(username).orElse(NO_USER);
+        Long previous = lastSeen.asMap().put(username, version);
+        if (previous != null && previous != version) {
+            // Changed through another instance: keep this user's reads off replicas that may not have the change yet
+            replicaReads.markChanged(username);
+        }
+        return version;
+    }
+}
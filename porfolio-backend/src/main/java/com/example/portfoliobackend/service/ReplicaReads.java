@@ -0,0 +1,69 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.config.ReadWriteRoutingDataSource;
+import com.example.portfoliobackend.config.ReplicaProperties;
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs request reads in a read-only transaction that may be served by a read replica
+ * (see {@link ReadWriteRoutingDataSource}); without replicas it is a plain read-only transaction.
+ * Reads for a user whose portfolio changed moments ago stay on the primary, so a fresh ETag or
+ * PortfolioCache entry is never built from rows a replica has not received yet.
+ */
+@Service
+public class ReplicaReads {
+
+    private final TransactionTemplate replicaRead;
+    private final TransactionTemplate primaryRead;
+    private final Cache<String, Boolean> recentlyChanged;
+
+    public ReplicaReads(PlatformTransactionManager transactionManager, ReplicaProperties replicaProperties) {
+        this.replicaRead = new TransactionTemplate(transactionManager);
+        this.replicaRead.setReadOnly(true);
+        this.replicaRead.setName(ReadWriteRoutingDataSource.REPLICA_READ);
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setReadOnly(true);
+
+        // Worst-case lag a replica can reach before the next health check takes it out of rotation
+        Duration window = Duration.ofSeconds(replicaProperties.getMaxLagSeconds())
+                .plusMillis(replicaProperties.getCheckIntervalMs());
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public <T> T read(Supplier<T> work) {
+        return replicaRead.execute(status -> work.get());
+    }
+
+    public <T> T read(String username, Supplier<T> work) {
+        if (recentlyChanged.getIfPresent(PortfolioCache.normalize(username)) != null) {
+            return primaryRead.execute(status -> work.get());
+        }
+        return read(work);
+    }
+
+    // Recorded before PortfolioVersionService hands out the new version
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        markChanged(event.getUsername());
+    }
+
+    // Also called for changes made through another instance, once PortfolioVersionService sees their new version
+    public void markChanged(String username) {
+        recentlyChanged.put(PortfolioCache.normalize(username), Boolean.TRUE);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSession;
+import com.example.portfoliobackend.repository.UserSessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks login sessions in user_sessions and answers revocation checks from memory.
+ * Each JWT carries its session's token id (jti); the database is only consulted on an index miss,
+ * and last_activity is written in periodic batches instead of on every request.
+ */
+@Service
+public class SessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionRegistry.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final UserSessionRepository userSessionRepository;
+    private final JwtProperties jwtProperties;
+
+    // token id -> session state; entries live until the session expires
+    private final Cache<String, SessionState> index = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfter(new UntilSessionExpiry())
+            .build();
+
+    // session id -> latest activity seen since the last flush, to the second (the precision of last_activity)
+    private final Map<Long, LocalDateTime> pendingActivity = new ConcurrentHashMap<>();
+
+    public SessionRegistry(UserSessionRepository userSessionRepository, JwtProperties jwtProperties) {
+        this.userSessionRepository = userSessionRepository;
+        this.jwtProperties = jwtProperties;
+    }
+
+    public UserSession register(User user, String ipAddress, String userAgent) {
+        LocalDateTime now = LocalDateTime.now();
+        UserSession session = new UserSession();
+        session.setUserId(user.getId());
+        session.setToken(UUID.randomUUID().toString());
+        session.setIpAddress(ipAddress);
+        session.setUserAgent(userAgent);
+        session.setLastActivity(now);
+        session.setExpiresAt(now.plus(Duration.ofMillis(jwtProperties.getExpiration())));
+        session = userSessionRepository.save(session);
+
+        index.put(session.getToken(), SessionState.active(session));
+        return session;
+    }
+
+    // Returns whether the session behind a token id is still live, and records the activity if so
+    public boolean isActive(String tokenId, Date tokenExpiration) {
+        // Looked up outside the cache's compute lock so the query can't block or pin other callers
+        SessionState state = index.getIfPresent(tokenId);
+        if (state == null) {
+            state = userSessionRepository.findByToken(tokenId)
+                    .map(SessionState::active)
+                    .orElseGet(() -> SessionState.revoked(tokenExpiration.toInstant()));
+            index.asMap().putIfAbsent(tokenId, state);
+        }
+        if (state.revoked() || state.expiresAt().isBefore(Instant.now())) {
+            return false;
+        }
+        pendingActivity.put(state.sessionId(), LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        return true;
+    }
+
+    public List<UserSession> findSessions(Long userId) {
+        return userSessionRepository.findByUserId(userId);
+    }
+
+    public boolean revoke(Long sessionId, Long userId) {
+        Optional<UserSession> session = userSessionRepository.findById(sessionId)
+                .filter(s -> s.getUserId().equals(userId));
+        session.ifPresent(this::revoke);
+        return session.isPresent();
+    }
+
+    public void revokeByTokenId(String tokenId) {
+        userSessionRepository.findByToken(tokenId).ifPresentOrElse(this::revoke,
+                () -> index.invalidate(tokenId));
+    }
+
+    private void revoke(UserSession session) {
+        userSessionRepository.delete(session);
+        pendingActivity.remove(session.getId());
+        index.put(session.getToken(), SessionState.revoked(toInstant(session.getExpiresAt())));
+    }
+
+    // Coalesced last_activity write: sessions last seen in the same second share one UPDATE per batch, so each
+    // session gets its own time and a flush costs at most one statement per second of the interval (per batch)
+    @Scheduled(fixedDelayString = "${app.security.sessions.flush-interval-ms:30000}")
+    public void flushActivity() {
+        if (pendingActivity.isEmpty()) {
+            return;
+        }
+        Map<LocalDateTime, List<Long>> idsBySecond = new TreeMap<>();
+        int sessions = 0;
+        for (Long id : pendingActivity.keySet()) {
+            LocalDateTime seen = pendingActivity.remove(id);
+            if (seen != null) {
+                idsBySecond.computeIfAbsent(seen, second -> new ArrayList<>()).add(id);
+                sessions++;
+            }
+        }
+        idsBySecond.forEach((seen, ids) -> {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                userSessionRepository.updateLastActivity(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())), seen);
+            }
+        });
+        logger.debug("Flushed activity for {} sessions in {} groups", sessions, idsBySecond.size());
+    }
+
+    // Picks up sessions revoked by other instances (or deleted directly in the database)
+    @Scheduled(fixedDelayString = "${app.security.sessions.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<String> active = new ArrayList<>();
+        index.asMap().forEach((tokenId, state) -> {
+            if (!state.revoked()) {
+                active.add(tokenId);
+            }
+        });
+        for (int from = 0; from < active.size(); from += BATCH_SIZE) {
+            List<String> batch = active.subList(from, Math.min(from + BATCH_SIZE, active.size()));
+            Set<String> existing = new HashSet<>(userSessionRepository.findExistingTokens(batch));
+            for (String tokenId : batch) {
+                if (!existing.contains(tokenId)) {
+                    index.asMap().computeIfPresent(tokenId, (key, state) -> SessionState.revoked(state.expiresAt()));
+                }
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.security.sessions.cleanup-cron:0 0 * * * *}")
+    public void deleteExpiredSessions() {
+        int deleted = userSessionRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired sessions", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushActivity();
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private record SessionState(Long sessionId, Instant expiresAt, boolean revoked) {
+
+        static SessionState active(UserSession session) {
+            return new SessionState(session.getId(), toInstant(session.getExpiresAt()), false);
+        }
+
+        static SessionState revoked(Instant expiresAt) {
+            return new SessionState(null, expiresAt, true);
+        }
+    }
+
+    private static final class UntilSessionExpiry implements Expiry<String, SessionState> {
+
+        @Override
+        public long expireAfterCreate(String key, SessionState value, long currentTime) {
+            long remainingMillis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, SessionState value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, SessionState value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,20 +1,41 @@
 package com.example.portfoliobackend.util;
 
 import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     private final JwtProperties jwtProperties;
+    // Parsers are immutable and thread-safe, so build it once instead of per call
+    private final JwtParser jwtParser;
+    // Tokens that already passed verification, keyed by their signature segment
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtUtil(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(jwtProperties.getSecret())
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedCacheSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     public String generateToken(String username) {
@@ -26,20 +47,94 @@ public class JwtUtil {
                 .compact();
     }
 
+    // Embeds the user id so authenticated requests can build their principal without a user lookup,
+    // and the session's token id so the session can be revoked
+    public String generateToken(User user, String tokenId) {
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .setId(tokenId)
+                .claim(USER_ID_CLAIM, user.getId())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
+                .signWith(SignatureAlgorithm.HS256, jwtProperties.getSecret())
+                .compact();
+    }
+
+    // Verifies the signature and expiry once and returns the claims; throws JwtException if invalid.
+    // Repeat presentations of the same token are answered from the verified-token cache.
+    public Claims parseToken(String token) {
+        String key = signatureOf(token);
+        if (key != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(key);
+            // Eviction at expiry is not immediate, so expiry is checked again on every hit
+            if (cached != null && cached.matches(token) && cached.claims().getExpiration().after(new Date())) {
+                return cached.claims();
+            }
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (key != null && claims.getExpiration() != null) {
+            verifiedTokens.put(key, new VerifiedToken(token, claims));
+        }
+        return claims;
+    }
+
+    // Drops a token from the verified-token cache, e.g. when its session is revoked
+    public void invalidate(String token) {
+        String key = signatureOf(token);
+        if (key != null) {
+            verifiedTokens.invalidate(key);
+        }
+    }
+
+    public void invalidateAll() {
+        verifiedTokens.invalidateAll();
+    }
+
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtProperties.getSecret())
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parseToken(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtProperties.getSecret()).parseClaimsJws(token);
+            parseToken(token);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    private static String signatureOf(String token) {
+        int dot = token == null ? -1 : token.lastIndexOf('.');
+        return dot < 0 || dot == token.length() - 1 ? null : token.substring(dot + 1);
+    }
+
+    private record VerifiedToken(String token, Claims claims) {
+
+        // The signature is only the lookup key; the whole token must match before the cached claims are trusted
+        boolean matches(String candidate) {
+            return MessageDigest.isEqual(token.getBytes(StandardCharsets.US_ASCII),
+                    candidate.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    // Each entry lives exactly as long as its token is valid
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.claims().getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,3 @@
+-- Sessions are looked up by token id (the JWT's jti) and pruned by expiry
+CREATE UNIQUE INDEX idx_user_sessions_token ON user_sessions (token);
+CREATE INDEX idx_user_sessions_expires_at ON user_sessions (expires_at);
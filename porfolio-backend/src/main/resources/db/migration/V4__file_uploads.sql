@@ -0,0 +1,12 @@
+-- Content-addressed uploads: identical bytes are stored once and shared through a reference count
+CREATE TABLE file_uploads (
+    file_id INT PRIMARY KEY AUTO_INCREMENT,
+    content_hash CHAR(64) NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    content_type VARCHAR(100),
+    ref_count INT NOT NULL DEFAULT 1,
+    uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_file_uploads_content_hash (content_hash)
+);
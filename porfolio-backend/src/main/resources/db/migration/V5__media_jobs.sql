@@ -0,0 +1,23 @@
+-- Background processing of uploads (image derivatives, precompression), persisted so it survives restarts
+CREATE TABLE media_jobs (
+    job_id INT PRIMARY KEY AUTO_INCREMENT,
+    job_type VARCHAR(32) NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    media_id INT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 5,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP NULL,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (media_id) REFERENCES project_media(media_id) ON DELETE SET NULL,
+    INDEX idx_media_jobs_due (status, next_attempt_at),
+    INDEX idx_media_jobs_filename (stored_filename),
+    INDEX idx_media_jobs_media (media_id, status)
+);
+
+ALTER TABLE project_media
+    ADD COLUMN processing_status ENUM('pending', 'ready', 'failed') NOT NULL DEFAULT 'ready';
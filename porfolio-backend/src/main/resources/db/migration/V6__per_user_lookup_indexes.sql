@@ -0,0 +1,21 @@
+-- Per-user section lookups, in the order the sections are displayed. InnoDB appends the primary key to
+-- every secondary index, so (user_id, display_order) also serves ORDER BY display_order, id.
+-- Each of these can back the user_id foreign key, so MySQL drops the index it created implicitly for it.
+CREATE INDEX idx_projects_user_order ON projects (user_id, display_order);
+CREATE INDEX idx_education_user_order ON education (user_id, display_order);
+CREATE INDEX idx_work_experience_user_order ON work_experience (user_id, display_order);
+CREATE INDEX idx_social_links_user_order ON social_links (user_id, display_order);
+CREATE INDEX idx_portfolio_sections_user_order ON portfolio_sections (user_id, display_order);
+-- user_skills is already covered by its (user_id, skill_id) unique key
+
+-- Children read per parent
+CREATE INDEX idx_project_media_project_order ON project_media (project_id, display_order);
+CREATE INDEX idx_experience_details_experience_order ON experience_details (experience_id, display_order);
+
+-- Submissions are listed per user, newest first
+CREATE INDEX idx_contact_submissions_user_date ON contact_submissions (user_id, submission_date);
+
+-- Usernames and emails are matched with LOWER(column) = LOWER(?), which only these functional
+-- indexes can serve (MySQL 8.0.13+). Unique, since two accounts may not differ by case alone.
+CREATE UNIQUE INDEX idx_users_username_lower ON users ((LOWER(username)));
+CREATE UNIQUE INDEX idx_users_email_lower ON users ((LOWER(email)));
@@ -0,0 +1,6 @@
+-- Keyset pages over (display_order, id) skip rows whose display_order is NULL, so give every row one
+UPDATE projects SET display_order = 0 WHERE display_order IS NULL;
+ALTER TABLE projects MODIFY display_order INT NOT NULL DEFAULT 0;
+
+UPDATE project_media SET display_order = 0 WHERE display_order IS NULL;
+ALTER TABLE project_media MODIFY display_order INT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Per-user content version behind the portfolio ETags. Every portfolio write bumps it, so all instances
+-- agree on the current version instead of each keeping its own in memory.
+ALTER TABLE users ADD COLUMN portfolio_version BIGINT NOT NULL DEFAULT 0;
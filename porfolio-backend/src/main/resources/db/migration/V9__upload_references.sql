@@ -0,0 +1,11 @@
+-- One row per user holding a content-addressed upload; file_uploads.ref_count counts these holders.
+-- References taken before this table existed have no holder row, so the API can never release them.
+CREATE TABLE upload_references (
+    reference_id INT PRIMARY KEY AUTO_INCREMENT,
+    file_id INT NOT NULL,
+    user_id INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_upload_references_file_user (file_id, user_id),
+    CONSTRAINT fk_upload_references_file FOREIGN KEY (file_id) REFERENCES file_uploads (file_id) ON DELETE CASCADE,
+    CONSTRAINT fk_upload_references_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
@@ -0,0 +1,131 @@
+package com.example.portfoliobackend.config;
+
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSession;
+import com.example.portfoliobackend.repository.UserRepository;
+import com.example.portfoliobackend.repository.UserSessionRepository;
+import com.example.portfoliobackend.service.SessionRegistry;
+import com.example.portfoliobackend.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JwtAuthenticationFilterTest {
+
+    static final String SECRET = "dGVzdC1zZWNyZXQtZm9yLWp3dC1hdXRoZW50aWNhdGlvbi1maWx0ZXItdGVzdHM=";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    private JwtUtil jwtUtil;
+    private SessionRegistry sessionRegistry;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpiration(3_600_000L);
+        jwtUtil = new JwtUtil(jwtProperties);
+        sessionRegistry = new SessionRegistry(userSessionRepository, jwtProperties);
+        filter = new JwtAuthenticationFilter(jwtUtil, userRepository, sessionRegistry);
+
+        user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("hash");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        userSessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void tokenOfARevokedSessionIsRejected() throws Exception {
+        UserSession session = sessionRegistry.register(user, "10.0.0.1", "test");
+        String token = jwtUtil.generateToken(user, session.getToken());
+
+        Authentication before = authenticate(token);
+        assertThat(before).isNotNull();
+        assertThat(before.getPrincipal()).isEqualTo(new AuthenticatedUser(user.getId(), "alice", session.getToken()));
+
+        sessionRegistry.revoke(session.getId(), user.getId());
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void cachedTokenOfASessionRevokedOnAnotherInstanceIsRejectedAfterReconcile() throws Exception {
+        UserSession session = sessionRegistry.register(user, "10.0.0.1", "test");
+        String token = jwtUtil.generateToken(user, session.getToken());
+        assertThat(authenticate(token)).isNotNull();
+        // The signature is verified and cached by now
+        assertThat(jwtUtil.parseToken(token)).isSameAs(jwtUtil.parseToken(token));
+
+        userSessionRepository.deleteById(session.getId());
+        sessionRegistry.reconcile();
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void legacyTokenWithoutUserIdIsResolvedThroughTheRepository() throws Exception {
+        String token = jwtUtil.generateToken("alice");
+
+        Authentication authentication = authenticate(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(new AuthenticatedUser(user.getId(), "alice", null));
+    }
+
+    @Test
+    void legacyPrincipalIsCachedAfterTheFirstLookup() throws Exception {
+        String token = jwtUtil.generateToken("alice");
+        assertThat(authenticate(token)).isNotNull();
+
+        // A second lookup would now find nothing
+        userRepository.deleteAll();
+
+        Authentication cached = authenticate(token);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getPrincipal()).isEqualTo(new AuthenticatedUser(user.getId(), "alice", null));
+    }
+
+    @Test
+    void legacyTokenOfAnUnknownUserIsNotAuthenticated() throws Exception {
+        assertThat(authenticate(jwtUtil.generateToken("mallory"))).isNull();
+    }
+
+    // Runs one request through the filter and returns the authentication it set up, if any
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/profile");
+        request.setServletPath("/api/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
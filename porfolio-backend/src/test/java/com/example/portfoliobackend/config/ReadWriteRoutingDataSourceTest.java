@@ -0,0 +1,106 @@
+package com.example.portfoliobackend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each reports its own name
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replication_lag (seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replication_lag VALUES (0)");
+
+        routing = new ReadWriteRoutingDataSource(primary, List.of(replica), 5,
+                "SELECT seconds FROM replication_lag", "seconds");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryJdbc.execute("SHUTDOWN");
+        replicaJdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void replicaReadsUseTheReplicaOnceItPassesAHealthCheck() {
+        assertThat(nodeFor(true, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("primary");
+
+        routing.checkReplicas();
+
+        assertThat(nodeFor(true, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesAndOtherReadOnlyTransactionsStayOnThePrimary() {
+        routing.checkReplicas();
+
+        assertThat(nodeFor(false, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("primary");
+        assertThat(nodeFor(true, null)).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() {
+        replicaJdbc.update("UPDATE replication_lag SET seconds = 60");
+        routing.checkReplicas();
+        assertThat(routing.replicasInRotation()).isEmpty();
+        assertThat(nodeFor(true, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replication_lag SET seconds = 1");
+        routing.checkReplicas();
+        assertThat(nodeFor(true, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaFailingItsHealthCheckIsTakenOutOfRotation() {
+        routing.checkReplicas();
+        assertThat(routing.replicasInRotation()).containsExactly("replica-0");
+
+        replicaJdbc.execute("DROP TABLE replication_lag");
+        routing.checkReplicas();
+
+        assertThat(routing.replicasInRotation()).isEmpty();
+        assertThat(nodeFor(true, ReadWriteRoutingDataSource.REPLICA_READ)).isEqualTo("primary");
+    }
+
+    private String nodeFor(boolean readOnly, String transactionName) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.setName(transactionName);
+        return template.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
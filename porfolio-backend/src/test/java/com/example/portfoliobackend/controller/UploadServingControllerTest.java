@@ -0,0 +1,160 @@
+package com.example.portfoliobackend.controller;
+
+import com.example.portfoliobackend.service.FileStorageService;
+import com.example.portfoliobackend.service.HotFileCache;
+import com.example.portfoliobackend.service.ImageDerivativeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UploadServingControllerTest {
+
+    private static final String VIDEO = "0".repeat(64) + ".mp4";
+    private static final String TEXT = "1".repeat(64) + ".txt";
+
+    @TempDir
+    private Path uploadDir;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final ImageDerivativeService imageDerivatives = mock(ImageDerivativeService.class);
+    private byte[] video;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        video = new byte[1000];
+        for (int i = 0; i < video.length; i++) {
+            video[i] = (byte) i;
+        }
+        Files.write(uploadDir.resolve(VIDEO), video);
+        when(fileStorageService.load(anyString())).thenAnswer(call -> uploadDir.resolve(call.<String>getArgument(0)));
+
+        // The hot-file cache is a mock that never hits, so every body comes from disk
+        UploadServingController controller = new UploadServingController(fileStorageService, imageDerivatives,
+                mock(HotFileCache.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void servesTheWholeFileWithoutARange() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + VIDEO + "\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 1000))
+                .andExpect(content().bytes(video));
+    }
+
+    @Test
+    void servesAnExplicitByteRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO).header(HttpHeaders.RANGE, "bytes=0-99"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/1000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(video, 0, 100)));
+    }
+
+    @Test
+    void servesASuffixRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO).header(HttpHeaders.RANGE, "bytes=-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 900-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(video, 900, 1000)));
+    }
+
+    @Test
+    void rejectsARangePastTheEndOfTheFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO).header(HttpHeaders.RANGE, "bytes=1000-1099"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO)
+                        .header(HttpHeaders.RANGE, "bytes=0-99")
+                        .header(HttpHeaders.IF_RANGE, "\"some-older-version\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(video));
+    }
+
+    @Test
+    void matchingIfRangeKeepsTheRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + VIDEO)
+                        .header(HttpHeaders.RANGE, "bytes=0-99")
+                        .header(HttpHeaders.IF_RANGE, "\"" + VIDEO + "\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/1000"));
+    }
+
+    @Test
+    void gzipClientsGetThePrecompressedSibling() throws Exception {
+        byte[] text = "hello, compressible world\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+        byte[] gzipped = gzip(text);
+        Files.write(uploadDir.resolve(TEXT), text);
+        Files.write(FileStorageService.gzipSibling(uploadDir.resolve(TEXT)), gzipped);
+
+        mockMvc.perform(get("/uploads/" + TEXT).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TEXT + "-gz\""))
+                .andExpect(content().bytes(gzipped));
+
+        mockMvc.perform(get("/uploads/" + TEXT))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(text));
+    }
+
+    @Test
+    void failedDerivativeFallsBackToTheOriginal() throws Exception {
+        String image = "3".repeat(64) + ".png";
+        byte[] bytes = {1, 2, 3, 4};
+        Files.write(uploadDir.resolve(image), bytes);
+        when(imageDerivatives.resolve(anyString(), any(Path.class), anyInt()))
+                .thenThrow(new RuntimeException("Failed to generate image derivative"));
+
+        mockMvc.perform(get("/uploads/" + image).param("w", "320"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + image + "\""))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void missingFileIsNotFound() throws Exception {
+        mockMvc.perform(get("/uploads/" + "2".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.MediaJob;
+import com.example.portfoliobackend.model.MediaJob.JobType;
+import com.example.portfoliobackend.model.MediaJob.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not wrapped in a test transaction: each claim commits on its own, as it does for the poller
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MediaJobRepositoryTest {
+
+    @Autowired
+    private MediaJobRepository mediaJobRepository;
+
+    @AfterEach
+    void tearDown() {
+        mediaJobRepository.deleteAll();
+    }
+
+    @Test
+    void aJobCanBeClaimedOnlyOnce() {
+        Long id = pendingJob(0, 5).getId();
+
+        assertThat(claim(id, "worker-a")).isEqualTo(1);
+        assertThat(claim(id, "worker-b")).isZero();
+
+        MediaJob claimed = mediaJobRepository.findById(id).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(Status.RUNNING);
+        assertThat(claimed.getLockedBy()).isEqualTo("worker-a");
+        assertThat(claimed.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentClaimsHaveExactlyOneWinner() throws Exception {
+        Long id = pendingJob(0, 5).getId();
+        int workers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> claims = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                String worker = "worker-" + i;
+                Callable<Integer> race = () -> {
+                    start.await();
+                    return claim(id, worker);
+                };
+                claims.add(executor.submit(race));
+            }
+            start.countDown();
+
+            int won = 0;
+            for (Future<Integer> claim : claims) {
+                won += claim.get();
+            }
+            assertThat(won).isEqualTo(1);
+            assertThat(mediaJobRepository.findById(id).orElseThrow().getAttempts()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void staleJobsAreRequeuedUntilTheyRunOutOfAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        Long retryable = pendingJob(0, 2).getId();
+        Long exhausted = pendingJob(1, 2).getId();
+        claim(retryable, "dead-worker", now.minusHours(1));
+        claim(exhausted, "dead-worker", now.minusHours(1));
+
+        assertThat(mediaJobRepository.failStale(now.minusMinutes(10), now, "stopped", Status.RUNNING, Status.FAILED))
+                .isEqualTo(1);
+        assertThat(mediaJobRepository.requeueStale(now.minusMinutes(10), now, Status.PENDING, Status.RUNNING))
+                .isEqualTo(1);
+
+        assertThat(mediaJobRepository.findById(retryable).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        MediaJob failed = mediaJobRepository.findById(exhausted).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(failed.getLastError()).isEqualTo("stopped");
+    }
+
+    private int claim(Long id, String worker) {
+        return claim(id, worker, LocalDateTime.now());
+    }
+
+    private int claim(Long id, String worker, LocalDateTime now) {
+        return mediaJobRepository.claim(id, worker, now, Status.PENDING, Status.RUNNING);
+    }
+
+    private MediaJob pendingJob(int attempts, int maxAttempts) {
+        LocalDateTime now = LocalDateTime.now();
+        MediaJob job = new MediaJob();
+        job.setJobType(JobType.PRECOMPRESS);
+        job.setStoredFilename("0".repeat(64) + ".txt");
+        job.setStatus(Status.PENDING);
+        job.setAttempts(attempts);
+        job.setMaxAttempts(maxAttempts);
+        job.setNextAttemptAt(now);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        return mediaJobRepository.save(job);
+    }
+}
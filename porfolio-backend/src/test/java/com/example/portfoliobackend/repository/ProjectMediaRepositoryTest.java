@@ -0,0 +1,53 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.ProjectMedia;
+import com.example.portfoliobackend.model.ProjectMedia.ProcessingStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RepositoryFixtures.class)
+class ProjectMediaRepositoryTest {
+
+    private static final Long PROJECT_ID = 7L;
+
+    @Autowired
+    private RepositoryFixtures fixtures;
+
+    @Autowired
+    private ProjectMediaRepository projectMediaRepository;
+
+    @Test
+    void publicListingShowsFailedMediaButHoldsBackPendingMedia() {
+        fixtures.media(PROJECT_ID, "ready", 0, ProcessingStatus.ready);
+        fixtures.media(PROJECT_ID, "pending", 1, ProcessingStatus.pending);
+        fixtures.media(PROJECT_ID, "failed", 2, ProcessingStatus.failed);
+
+        List<ProjectMedia> media = projectMediaRepository.findByProjectIdAndProcessingStatusNotOrderByDisplayOrderAscIdAsc(
+                PROJECT_ID, ProcessingStatus.pending, PageRequest.ofSize(10));
+
+        assertThat(media).extracting(ProjectMedia::getCaption).containsExactly("ready", "failed");
+        assertThat(media.get(1).getProcessingStatus()).isEqualTo(ProcessingStatus.failed);
+    }
+
+    @Test
+    void keysetPagesIncludeFailedMedia() {
+        ProjectMedia first = fixtures.media(PROJECT_ID, "ready", 0, ProcessingStatus.ready);
+        fixtures.media(PROJECT_ID, "pending", 1, ProcessingStatus.pending);
+        fixtures.media(PROJECT_ID, "failed", 1, ProcessingStatus.failed);
+
+        List<ProjectMedia> rest = projectMediaRepository.findByProjectIdAndProcessingStatusNotAfter(
+                PROJECT_ID, ProcessingStatus.pending, first.getDisplayOrder(), first.getId(), PageRequest.ofSize(10));
+
+        assertThat(rest).extracting(ProjectMedia::getCaption).containsExactly("failed");
+    }
+}
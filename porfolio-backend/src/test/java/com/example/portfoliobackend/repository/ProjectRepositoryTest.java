@@ -0,0 +1,68 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.dto.PublicProject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RepositoryFixtures.class)
+class ProjectRepositoryTest {
+
+    @Autowired
+    private RepositoryFixtures fixtures;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void findPublicByUserIdReturnsProjectionsInDisplayOrder() {
+        Long userId = fixtures.userWithProjects("alice", 2, 0, 1);
+        Statistics statistics = fixtures.freshStatistics();
+
+        List<PublicProject> projects = projectRepository.findPublicByUserId(userId);
+
+        assertThat(projects).extracting(PublicProject::getDisplayOrder).containsExactly(0, 1, 2);
+        assertThat(projects).extracting(PublicProject::getTitle)
+                .containsExactly("alice-project-1", "alice-project-2", "alice-project-0");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void publicProjectJsonKeepsEntityKeysWithoutInternalFields() {
+        Long userId = fixtures.userWithProjects("bob", 0);
+
+        PublicProject project = projectRepository.findPublicByUserId(userId).get(0);
+        JsonNode json = JsonMapper.builder().findAndAddModules().build().valueToTree(project);
+
+        assertThat(json.path("github_url").asText()).isEqualTo("https://github.com/bob/0");
+        assertThat(json.has("projectUrl")).isTrue();
+        assertThat(json.has("userId")).isFalse();
+        assertThat(json.has("createdAt")).isFalse();
+        assertThat(json.has("updatedAt")).isFalse();
+    }
+
+    @Test
+    void keysetPagesFollowOnFromTheLastRow() {
+        Long userId = fixtures.userWithProjects("carol", 1, 1, 1, 0);
+
+        List<PublicProject> first = projectRepository.findPublicByUserId(userId, PageRequest.ofSize(2));
+        PublicProject last = first.get(first.size() - 1);
+        List<PublicProject> rest = projectRepository.findPublicByUserIdAfter(userId, last.getDisplayOrder(), last.getId(),
+                PageRequest.ofSize(10));
+
+        assertThat(first).extracting(PublicProject::getTitle).containsExactly("carol-project-3", "carol-project-0");
+        assertThat(rest).extracting(PublicProject::getTitle).containsExactly("carol-project-1", "carol-project-2");
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.ProjectMedia.ProcessingStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+// Runs each repository lookup against MySQL, with the schema from complete_db.sql plus db/migration, records the
+// SQL and bind values Hibernate actually sent, and EXPLAINs exactly that. Fails when a statement scans a whole
+// table or index. Skipped when Docker is not available, so it only guards anything where CI has Docker.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    // Five rows per parent, for the child tables
+    private static final String FIVE = "(SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 "
+            + "UNION ALL SELECT 4) k";
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final List<RecordedStatement> recorded = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectMediaRepository projectMediaRepository;
+    @Autowired
+    private EducationRepository educationRepository;
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+    @Autowired
+    private ExperienceDetailRepository experienceDetailRepository;
+    @Autowired
+    private SocialLinkRepository socialLinkRepository;
+    @Autowired
+    private PortfolioSectionRepository portfolioSectionRepository;
+    @Autowired
+    private ContactSubmissionRepository contactSubmissionRepository;
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new FileSystemResource("../complete_db.sql"));
+            for (Resource migration : migrations()) {
+                ScriptUtils.executeSqlScript(connection, migration);
+            }
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Enough rows that the optimizer prefers an index whenever one fits
+        jdbc.update("INSERT INTO users (username, email, password_hash) "
+                + "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000) "
+                + "SELECT CONCAT('user', n), CONCAT('user', n, '@example.com'), 'hash' FROM seq");
+        jdbc.update("INSERT INTO projects (user_id, title, display_order) "
+                + "SELECT u.user_id, 'Project', k.n FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO project_media (project_id, media_type, media_url, display_order) "
+                + "SELECT p.project_id, 'image', '/uploads/m.png', k.n FROM projects p CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO education (user_id, institution, display_order) "
+                + "SELECT u.user_id, 'University', k.n FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO work_experience (user_id, company, position, display_order) "
+                + "SELECT u.user_id, 'Company', 'Engineer', k.n FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO experience_details (experience_id, description, display_order) "
+                + "SELECT e.experience_id, 'Did things', k.n FROM work_experience e CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO social_links (user_id, platform, url, display_order) "
+                + "SELECT u.user_id, 'GitHub', 'https://github.com/', k.n FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO portfolio_sections (user_id, section_type, display_order) "
+                + "SELECT u.user_id, 'custom', k.n FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO contact_submissions (user_id, sender_name, sender_email, message) "
+                + "SELECT u.user_id, 'Visitor', 'visitor@example.com', 'Hello' FROM users u CROSS JOIN " + FIVE);
+        jdbc.update("INSERT INTO user_skills (user_id, skill_id, display_order) "
+                + "SELECT u.user_id, s.skill_id, s.skill_id FROM users u JOIN skills s ON s.skill_id <= 5");
+        jdbc.execute("ANALYZE TABLE users, projects, project_media, education, work_experience, experience_details, "
+                + "social_links, portfolio_sections, contact_submissions, user_skills, skills");
+    }
+
+    static Stream<Arguments> lookups() {
+        return Stream.of(
+                lookup("UserRepository.findByUsername", test -> test.userRepository.findByUsername("User500")),
+                lookup("UserRepository.existsByEmail",
+                        test -> test.userRepository.existsByEmail("User500@example.com")),
+                lookup("ProjectRepository.findByUserIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.projectRepository.findByUserIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("ProjectRepository.findPublicByUserIdAfter",
+                        test -> test.projectRepository.findPublicByUserIdAfter(500L, 2, 2400L, PageRequest.ofSize(21))),
+                lookup("ProjectMediaRepository.findByProjectIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.projectMediaRepository.findByProjectIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("ProjectMediaRepository.findByProjectIdAndProcessingStatusNotAfter",
+                        test -> test.projectMediaRepository.findByProjectIdAndProcessingStatusNotAfter(500L,
+                                ProcessingStatus.pending, 2, 2400L,
+                                PageRequest.ofSize(21))),
+                lookup("EducationRepository.findByUserIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.educationRepository.findByUserIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("WorkExperienceRepository.findByUserIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.workExperienceRepository.findByUserIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("ExperienceDetailRepository.findByExperienceId",
+                        test -> test.experienceDetailRepository.findByExperienceId(500L)),
+                lookup("SocialLinkRepository.findByUserIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.socialLinkRepository.findByUserIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("PortfolioSectionRepository.findByUserIdOrderByDisplayOrderAscIdAsc",
+                        test -> test.portfolioSectionRepository.findByUserIdOrderByDisplayOrderAscIdAsc(500L)),
+                lookup("ContactSubmissionRepository.findByUserId",
+                        test -> test.contactSubmissionRepository.findByUserId(500L)),
+                lookup("UserSkillRepository.findDetailsByUserId",
+                        test -> test.userSkillRepository.findDetailsByUserId(500L)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("lookups")
+    void lookupUsesAnIndex(String repositoryMethod, Lookup lookup) {
+        recorded.clear();
+        lookup.run(this);
+        List<RecordedStatement> selects = recorded.stream()
+                .filter(statement -> statement.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(selects).as("statements run by %s", repositoryMethod).isNotEmpty();
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (RecordedStatement statement : selects) {
+            List<Map<String, Object>> plan = jdbc.queryForList("EXPLAIN " + statement.sql(), statement.parameters());
+
+            assertThat(plan).as("plan of %s", statement.sql()).isNotEmpty().allSatisfy(step -> {
+                assertThat(step.get("type")).as("access type on %s for %s: %s", step.get("table"), statement, plan)
+                        .isNotIn("ALL", "index");
+                assertThat(step.get("key")).as("index used on %s for %s: %s", step.get("table"), statement, plan)
+                        .isNotNull();
+                // Ordered lookups must come out of the index already sorted
+                assertThat(String.valueOf(step.get("Extra")))
+                        .as("extra on %s for %s: %s", step.get("table"), statement, plan)
+                        .doesNotContain("Using filesort");
+            });
+        }
+    }
+
+    private static Arguments lookup(String repositoryMethod, Lookup lookup) {
+        return arguments(repositoryMethod, lookup);
+    }
+
+    interface Lookup {
+        void run(QueryPlanTest test);
+    }
+
+    record RecordedStatement(String sql, Object[] parameters) {
+
+        @Override
+        public String toString() {
+            return sql + " " + Arrays.toString(parameters);
+        }
+    }
+
+    // Wraps the application DataSource so every prepared statement is recorded with its bind values
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                    return recording((PreparedStatement) result, sql);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    Object value = name.equals("setNull") ? null : args[1];
+                    parameters.put(index, value instanceof Enum<?> constant ? constant.name() : value);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    recorded.add(new RecordedStatement(sql, new ArrayList<>(parameters.values()).toArray()));
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ProxyHandler<T> handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+            return (T) Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[] {type},
+                    invocationHandler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        interface ProxyHandler<T> {
+            Object handle(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+
+    // V2__..., V3__... in version order
+    private static List<Resource> migrations() throws Exception {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        return Arrays.stream(migrations)
+                .sorted(Comparator.comparingInt(migration ->
+                        Integer.parseInt(migration.getFilename().substring(1, migration.getFilename().indexOf("__")))))
+                .toList();
+    }
+}
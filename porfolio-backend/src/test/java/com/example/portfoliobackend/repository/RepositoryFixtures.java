@@ -0,0 +1,97 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.model.Project;
+import com.example.portfoliobackend.model.ProjectMedia;
+import com.example.portfoliobackend.model.ProjectMedia.ProcessingStatus;
+import com.example.portfoliobackend.model.Skill;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSkill;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+// Fixture rows and Hibernate statistics for the repository tests; pull in with @Import(RepositoryFixtures.class)
+class RepositoryFixtures {
+
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    RepositoryFixtures(TestEntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        return entityManager.persist(user);
+    }
+
+    // Skills are named "<username>-skill-<i>"
+    Long userWithSkills(String username, int skillCount) {
+        User user = user(username);
+        for (int i = 0; i < skillCount; i++) {
+            Skill skill = new Skill();
+            skill.setName(username + "-skill-" + i);
+            skill.setCategory("Testing");
+            entityManager.persist(skill);
+
+            UserSkill userSkill = new UserSkill();
+            userSkill.setUserId(user.getId());
+            userSkill.setSkillId(skill.getId());
+            userSkill.setProficiency(4);
+            userSkill.setYearsExperience(2.5f);
+            entityManager.persist(userSkill);
+        }
+        flushAndClear();
+        return user.getId();
+    }
+
+    // Projects are named "<username>-project-<i>", one per display order
+    Long userWithProjects(String username, int... displayOrders) {
+        User user = user(username);
+        for (int i = 0; i < displayOrders.length; i++) {
+            Project project = new Project();
+            project.setUserId(user.getId());
+            project.setTitle(username + "-project-" + i);
+            project.setProjectUrl("https://example.com/" + username + "/" + i);
+            project.setGithubUrl("https://github.com/" + username + "/" + i);
+            project.setDisplayOrder(displayOrders[i]);
+            project.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(project);
+        }
+        flushAndClear();
+        return user.getId();
+    }
+
+    ProjectMedia media(Long projectId, String caption, int displayOrder, ProcessingStatus status) {
+        ProjectMedia media = new ProjectMedia();
+        media.setProjectId(projectId);
+        media.setMediaType(ProjectMedia.MediaType.image);
+        media.setMediaUrl("/uploads/" + caption + ".png");
+        media.setCaption(caption);
+        media.setDisplayOrder(displayOrder);
+        media.setCreatedAt(LocalDateTime.now());
+        media.setProcessingStatus(status);
+        entityManager.persist(media);
+        entityManager.flush();
+        return media;
+    }
+
+    void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Cleared first, so the counts cover only what runs after this call
+    Statistics freshStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
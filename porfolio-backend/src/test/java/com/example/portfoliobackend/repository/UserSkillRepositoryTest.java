@@ -0,0 +1,62 @@
+package com.example.portfoliobackend.repository;
+
+import com.example.portfoliobackend.dto.UserSkillDetail;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RepositoryFixtures.class)
+class UserSkillRepositoryTest {
+
+    @Autowired
+    private RepositoryFixtures fixtures;
+
+    @Autowired
+    private UserSkillRepository userSkillRepository;
+
+    @Test
+    void findDetailsByUserIdReturnsJoinedSkillData() {
+        Long userId = fixtures.userWithSkills("alice", 2);
+
+        List<UserSkillDetail> details = userSkillRepository.findDetailsByUserId(userId);
+
+        assertThat(details).hasSize(2);
+        assertThat(details).extracting(UserSkillDetail::getSkillName)
+                .containsExactlyInAnyOrder("alice-skill-0", "alice-skill-1");
+        assertThat(details).allSatisfy(detail -> {
+            assertThat(detail.getId()).isNotNull();
+            assertThat(detail.getSkillId()).isNotNull();
+            assertThat(detail.getCategory()).isEqualTo("Testing");
+            assertThat(detail.getProficiency()).isEqualTo(4);
+            assertThat(detail.getYearsExperience()).isEqualTo(2.5f);
+        });
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithSkillCount() {
+        Long fewSkillsUser = fixtures.userWithSkills("few", 1);
+        Long manySkillsUser = fixtures.userWithSkills("many", 40);
+
+        long fewStatements = countStatements(fewSkillsUser, 1);
+        long manyStatements = countStatements(manySkillsUser, 40);
+
+        assertThat(fewStatements).isEqualTo(1);
+        assertThat(manyStatements).isEqualTo(fewStatements);
+    }
+
+    private long countStatements(Long userId, int expectedRows) {
+        Statistics statistics = fixtures.freshStatistics();
+        List<UserSkillDetail> details = userSkillRepository.findDetailsByUserId(userId);
+        assertThat(details).hasSize(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.model.FileUpload;
+import com.example.portfoliobackend.repository.FileUploadRepository;
+import com.example.portfoliobackend.repository.UploadReferenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Not wrapped in a test transaction: the service commits its own, and file deletes wait for those commits
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTest {
+
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Autowired
+    private UploadReferenceRepository uploadReferenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path uploadDir;
+
+    private final ImageDerivativeService imageDerivatives = mock(ImageDerivativeService.class);
+    private FileStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileStorageService(fileUploadRepository, uploadReferenceRepository, transactionManager,
+                imageDerivatives);
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "maxUploadSize", DataSize.ofMegabytes(1));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadReferenceRepository.deleteAll();
+        fileUploadRepository.deleteAll();
+    }
+
+    @Test
+    void identicalContentIsStoredOnceAndCountedOncePerUser() {
+        FileStorageService.StoredFile first = store("same bytes", "a.txt", ALICE);
+        FileStorageService.StoredFile second = store("same bytes", "b.txt", BOB);
+        store("same bytes", "c.txt", ALICE);
+
+        assertThat(second.filename()).isEqualTo(first.filename());
+        assertThat(service.load(first.filename())).isRegularFile();
+        assertThat(upload(first).getRefCount()).isEqualTo(2);
+        assertThat(uploadReferenceRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void fileIsRemovedWithItsLastReference() {
+        FileStorageService.StoredFile stored = store("shared", "a.txt", ALICE);
+        store("shared", "b.txt", BOB);
+
+        assertThat(service.delete(stored.filename(), ALICE)).isTrue();
+        assertThat(upload(stored).getRefCount()).isEqualTo(1);
+        assertThat(service.load(stored.filename())).isRegularFile();
+
+        assertThat(service.delete(stored.filename(), BOB)).isTrue();
+        assertThat(fileUploadRepository.findAll()).isEmpty();
+        assertThat(uploadReferenceRepository.findAll()).isEmpty();
+        assertThat(service.load(stored.filename())).doesNotExist();
+        verify(imageDerivatives).purge(stored.filename());
+    }
+
+    @Test
+    void anotherUsersDeleteCannotDropAReference() {
+        FileStorageService.StoredFile stored = store("alice's avatar", "avatar.txt", ALICE);
+
+        assertThat(service.delete(stored.filename(), BOB)).isFalse();
+        assertThat(service.delete(stored.filename(), BOB)).isFalse();
+
+        assertThat(upload(stored).getRefCount()).isEqualTo(1);
+        assertThat(service.load(stored.filename())).isRegularFile();
+        verify(imageDerivatives, never()).purge(stored.filename());
+    }
+
+    @Test
+    void repeatedDeletesBySameUserAreNoOps() {
+        FileStorageService.StoredFile stored = store("shared", "a.txt", ALICE);
+        store("shared", "b.txt", BOB);
+
+        assertThat(service.delete(stored.filename(), BOB)).isTrue();
+        assertThat(service.delete(stored.filename(), BOB)).isFalse();
+        assertThat(service.delete(stored.filename(), BOB)).isFalse();
+
+        assertThat(upload(stored).getRefCount()).isEqualTo(1);
+        assertThat(service.load(stored.filename())).isRegularFile();
+    }
+
+    @Test
+    void legacyNamesAreNeverDeleted() throws Exception {
+        Path legacy = Files.writeString(uploadDir.resolve("3f2a9c1e-legacy.png"), "old upload");
+
+        assertThat(service.delete("3f2a9c1e-legacy.png", ALICE)).isFalse();
+        assertThat(legacy).isRegularFile();
+    }
+
+    @Test
+    void rolledBackDeleteKeepsTheFile() {
+        FileStorageService.StoredFile stored = store("keep me", "a.txt", ALICE);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.delete(stored.filename(), ALICE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(upload(stored).getRefCount()).isEqualTo(1);
+        assertThat(service.load(stored.filename())).isRegularFile();
+        verify(imageDerivatives, never()).purge(stored.filename());
+    }
+
+    @Test
+    void concurrentFirstUploadsOfTheSameContentBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<FileStorageService.StoredFile> first = executor.submit(race(start, ALICE));
+            Future<FileStorageService.StoredFile> second = executor.submit(race(start, BOB));
+            start.countDown();
+
+            assertThat(first.get().filename()).isEqualTo(second.get().filename());
+            assertThat(upload(first.get()).getRefCount()).isEqualTo(2);
+            assertThat(service.load(first.get().filename())).isRegularFile();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<FileStorageService.StoredFile> race(CountDownLatch start, Long userId) {
+        return () -> {
+            start.await();
+            return store("raced", "race.txt", userId);
+        };
+    }
+
+    private FileStorageService.StoredFile store(String content, String originalFilename, Long userId) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return service.store(new ByteArrayInputStream(bytes), originalFilename, "text/plain", bytes.length, userId);
+    }
+
+    private FileUpload upload(FileStorageService.StoredFile stored) {
+        List<FileUpload> uploads = fileUploadRepository.findAll().stream()
+                .filter(upload -> upload.getContentHash().equals(stored.contentHash()))
+                .toList();
+        assertThat(uploads).hasSize(1);
+        return uploads.get(0);
+    }
+}
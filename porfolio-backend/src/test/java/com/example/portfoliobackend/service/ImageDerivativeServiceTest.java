@@ -0,0 +1,108 @@
+package com.example.portfoliobackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    private Path uploadDir;
+
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageDerivativeService(2, 4_000_000);
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "maxCacheSize", DataSize.ofMegabytes(16));
+        service.init();
+    }
+
+    @Test
+    void resizesImagesWiderThanTheTarget() throws Exception {
+        Path original = uploadDir.resolve("wide.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+
+        Path derivative = service.resolve("wide.png", original, 320);
+
+        assertThat(derivative).isNotEqualTo(original).isRegularFile();
+        BufferedImage resized = ImageIO.read(derivative.toFile());
+        assertThat(resized.getWidth()).isEqualTo(320);
+        assertThat(resized.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    void servesTheOriginalWhenTheHeaderDeclaresTooManyPixels() throws Exception {
+        // A tiny PNG whose header claims 30000x30000; decoding it would need gigabytes of heap
+        Path bomb = uploadDir.resolve("bomb.png");
+        Files.write(bomb, withDeclaredSize(png(1, 1), 30_000, 30_000));
+
+        Path served = service.resolve("bomb.png", bomb, 640);
+
+        assertThat(served).isEqualTo(bomb);
+        assertThat(uploadDir.resolve(".derivatives/640/bomb.png")).doesNotExist();
+    }
+
+    @Test
+    void rememberedOriginalsSkipTheGenerationPermits() throws Exception {
+        Path small = uploadDir.resolve("small.png");
+        ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), "png", small.toFile());
+        assertThat(service.resolve("small.png", small, 320)).isEqualTo(small);
+
+        // With every permit taken, only a remembered outcome can answer without blocking
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(service, "generationPermits");
+        permits.acquire(2);
+        try {
+            Path served = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> service.resolve("small.png", small, 320));
+            assertThat(served).isEqualTo(small);
+        } finally {
+            permits.release(2);
+        }
+    }
+
+    @Test
+    void purgeForgetsRememberedOriginals() throws Exception {
+        Path image = uploadDir.resolve("replaced.png");
+        ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), "png", image.toFile());
+        assertThat(service.resolve("replaced.png", image, 320)).isEqualTo(image);
+
+        service.purge("replaced.png");
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "png", image.toFile());
+
+        assertThat(service.resolve("replaced.png", image, 320)).isNotEqualTo(image).isRegularFile();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    // Rewrites the width and height in the IHDR chunk (right after the 8-byte signature) and fixes its CRC
+    private static byte[] withDeclaredSize(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 4 + 13);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+}
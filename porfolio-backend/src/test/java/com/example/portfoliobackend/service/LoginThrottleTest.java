@@ -0,0 +1,63 @@
+package com.example.portfoliobackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    // 3 attempts per IP per 60s, 2 failures per username per 900s
+    private final LoginThrottle throttle = new LoginThrottle(3, 60, 2, 900, now::get);
+
+    @Test
+    void limitsAttemptsPerIpUntilTheWindowMovesOn() {
+        assertThat(throttle.checkAttempt("alice", "10.0.0.1")).isZero();
+        now.addAndGet(10_000);
+        assertThat(throttle.checkAttempt("bob", "10.0.0.1")).isZero();
+        assertThat(throttle.checkAttempt("carol", "10.0.0.1")).isZero();
+
+        assertThat(throttle.checkAttempt("dave", "10.0.0.1")).isEqualTo(50);
+        assertThat(throttle.checkAttempt("dave", "10.0.0.2")).isZero();
+
+        // Only the oldest attempt has left the window, so exactly one more is allowed
+        now.addAndGet(50_000);
+        assertThat(throttle.checkAttempt("dave", "10.0.0.1")).isZero();
+        assertThat(throttle.checkAttempt("erin", "10.0.0.1")).isEqualTo(10);
+    }
+
+    @Test
+    void locksAUsernameOutAfterTooManyFailuresFromAnyIp() {
+        throttle.recordFailure("alice");
+        now.addAndGet(100_000);
+        throttle.recordFailure("ALICE");
+
+        assertThat(throttle.checkAttempt("Alice", "10.0.0.9")).isEqualTo(800);
+        assertThat(throttle.checkAttempt("bob", "10.0.0.9")).isZero();
+
+        now.addAndGet(800_000);
+        assertThat(throttle.checkAttempt("alice", "10.0.0.9")).isZero();
+    }
+
+    @Test
+    void successfulLoginClearsTheUsernamesFailures() {
+        throttle.recordFailure("alice");
+        throttle.recordSuccess("Alice");
+        throttle.recordFailure("alice");
+
+        assertThat(throttle.checkAttempt("alice", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void lockedOutAttemptsDoNotCountAgainstTheIp() {
+        throttle.recordFailure("alice");
+        throttle.recordFailure("alice");
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.checkAttempt("alice", "10.0.0.1")).isPositive();
+        }
+
+        assertThat(throttle.checkAttempt("bob", "10.0.0.1")).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.event.PortfolioChangedEvent;
+import com.example.portfoliobackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Two services over one users.portfolio_version stand in for two application instances
+class PortfolioVersionServiceTest {
+
+    private final AtomicLong storedVersion = new AtomicLong(3);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ReplicaReads replicaReadsA = mock(ReplicaReads.class);
+    private final ReplicaReads replicaReadsB = mock(ReplicaReads.class);
+
+    private PortfolioVersionService instanceA;
+    private PortfolioVersionService instanceB;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findPortfolioVersion(anyString())).thenAnswer(call -> Optional.of(storedVersion.get()));
+        when(userRepository.bumpPortfolioVersion(anyString())).thenAnswer(call -> {
+            storedVersion.incrementAndGet();
+            return 1;
+        });
+        instanceA = new PortfolioVersionService(userRepository, replicaReadsA, 60_000);
+        instanceB = new PortfolioVersionService(userRepository, replicaReadsB, 0);
+    }
+
+    @Test
+    void aChangeIsVisibleOnTheInstanceThatMadeItRightAway() {
+        String before = instanceA.etag("Alice", "projects");
+
+        instanceA.onPortfolioChanged(new PortfolioChangedEvent("alice", PortfolioCache.Section.PROJECTS));
+
+        assertThat(instanceA.etag("ALICE", "projects")).isNotEqualTo(before);
+        assertThat(instanceA.currentVersion("alice")).isEqualTo(4);
+    }
+
+    @Test
+    void otherInstancesPickUpAChangeAndKeepReadsOnThePrimary() {
+        String before = instanceB.etag("alice", "projects");
+
+        instanceA.onPortfolioChanged(new PortfolioChangedEvent("alice", PortfolioCache.Section.PROJECTS));
+
+        assertThat(instanceB.etag("alice", "projects")).isNotEqualTo(before);
+        verify(replicaReadsB).markChanged("alice");
+    }
+
+    @Test
+    void unchangedVersionsDoNotPinReadsToThePrimary() {
+        instanceB.currentVersion("alice");
+        instanceB.currentVersion("alice");
+
+        verify(replicaReadsB, never()).markChanged(anyString());
+    }
+
+    @Test
+    void unknownUsersGetAVersionNoAccountHas() {
+        when(userRepository.findPortfolioVersion("nobody")).thenReturn(Optional.empty());
+
+        assertThat(instanceA.currentVersion("nobody")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.portfoliobackend.service;
+
+import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.model.User;
+import com.example.portfoliobackend.model.UserSession;
+import com.example.portfoliobackend.repository.UserSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not wrapped in a test transaction, like the scheduled flush and reconcile runs
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SessionRegistryTest {
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    private SessionRegistry registry;
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(3_600_000L);
+        registry = new SessionRegistry(userSessionRepository, jwtProperties);
+        user.setId(42L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userSessionRepository.deleteAll();
+    }
+
+    @Test
+    void registeredSessionIsActiveUntilRevoked() {
+        UserSession session = registry.register(user, "10.0.0.1", "test");
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isTrue();
+
+        assertThat(registry.revoke(session.getId(), 7L)).isFalse();
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isTrue();
+
+        assertThat(registry.revoke(session.getId(), user.getId())).isTrue();
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isFalse();
+        assertThat(userSessionRepository.findById(session.getId())).isEmpty();
+    }
+
+    @Test
+    void unknownTokenIdIsNotActive() {
+        assertThat(registry.isActive("no-such-token", inAnHour())).isFalse();
+    }
+
+    @Test
+    void reconcilePicksUpSessionsDeletedElsewhere() {
+        UserSession session = registry.register(user, "10.0.0.1", "test");
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isTrue();
+
+        // Revoked through another instance: only the database knows
+        userSessionRepository.deleteById(session.getId());
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isTrue();
+
+        registry.reconcile();
+        assertThat(registry.isActive(session.getToken(), inAnHour())).isFalse();
+    }
+
+    @Test
+    void flushWritesEachSessionsOwnLastActivity() {
+        UserSession early = registry.register(user, "10.0.0.1", "test");
+        UserSession late = registry.register(user, "10.0.0.2", "test");
+        LocalDateTime earlyActivity = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime lateActivity = earlyActivity.plusMinutes(5);
+        pendingActivity().put(early.getId(), earlyActivity);
+        pendingActivity().put(late.getId(), lateActivity);
+
+        registry.flushActivity();
+
+        assertThat(userSessionRepository.findById(early.getId()).orElseThrow().getLastActivity())
+                .isEqualTo(earlyActivity);
+        assertThat(userSessionRepository.findById(late.getId()).orElseThrow().getLastActivity())
+                .isEqualTo(lateActivity);
+        assertThat(pendingActivity()).isEmpty();
+    }
+
+    @Test
+    void activityIsRecordedForTheNextFlush() {
+        UserSession session = registry.register(user, "10.0.0.1", "test");
+
+        registry.isActive(session.getToken(), inAnHour());
+
+        assertThat(pendingActivity()).containsKey(session.getId());
+    }
+
+    @Test
+    void cleanupDeletesOnlyExpiredSessions() {
+        UserSession live = registry.register(user, "10.0.0.1", "test");
+        UserSession expired = registry.register(user, "10.0.0.2", "test");
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        userSessionRepository.save(expired);
+
+        registry.deleteExpiredSessions();
+
+        assertThat(userSessionRepository.findAll()).extracting(UserSession::getId).containsExactly(live.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, LocalDateTime> pendingActivity() {
+        return (Map<Long, LocalDateTime>) ReflectionTestUtils.getField(registry, "pendingActivity");
+    }
+
+    private static Date inAnHour() {
+        return new Date(System.currentTimeMillis() + 3_600_000);
+    }
+}
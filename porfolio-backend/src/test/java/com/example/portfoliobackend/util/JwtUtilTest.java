@@ -0,0 +1,88 @@
+package com.example.portfoliobackend.util;
+
+import com.example.portfoliobackend.config.JwtProperties;
+import com.example.portfoliobackend.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    static final String SECRET = "dGVzdC1zZWNyZXQtZm9yLWp3dC11dGlsLXZlcmlmaWVkLXRva2VuLWNhY2hl";
+
+    @Test
+    void cachedTokenIsAnsweredWithTheSameClaims() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000L);
+        String token = jwtUtil.generateToken(user(), "session-1");
+
+        Claims first = jwtUtil.parseToken(token);
+
+        assertThat(jwtUtil.parseToken(token)).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("alice");
+        assertThat(first.getId()).isEqualTo("session-1");
+    }
+
+    @Test
+    void tamperedPayloadIsRejectedEvenAfterTheGenuineTokenWasCached() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000L);
+        String token = jwtUtil.generateToken(user(), "session-1");
+        jwtUtil.parseToken(token);
+
+        // Same header and signature, so the cache lookup finds the genuine entry
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forged = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        payload.replace("\"alice\"", "\"admin\"").getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(forged)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.validateToken(forged)).isFalse();
+        assertThat(jwtUtil.parseToken(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void expiredTokenIsRejectedDespiteACacheHit() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(1_000L);
+        String token = jwtUtil.generateToken(user(), "session-1");
+        Claims claims = jwtUtil.parseToken(token);
+
+        // exp has whole-second precision, so wait for the claim rather than the configured lifetime
+        long wait = claims.getExpiration().getTime() - System.currentTimeMillis() + 50;
+        Thread.sleep(Math.max(0, wait));
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void invalidatedTokenIsVerifiedAgain() {
+        JwtUtil jwtUtil = jwtUtil(3_600_000L);
+        String token = jwtUtil.generateToken(user(), "session-1");
+        Claims first = jwtUtil.parseToken(token);
+
+        jwtUtil.invalidate(token);
+
+        assertThat(jwtUtil.parseToken(token)).isNotSameAs(first);
+    }
+
+    private static JwtUtil jwtUtil(long expirationMillis) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpiration(expirationMillis);
+        return new JwtUtil(jwtProperties);
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("alice");
+        return user;
+    }
+}